@@ -0,0 +1,119 @@
+package com.projectmanagement.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.projectmanagement.repository.projection.ActivitySummary;
+import com.projectmanagement.service.ActivityService;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.GZIPOutputStream;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.json.AbstractJackson2HttpMessageConverter;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+import org.springframework.http.converter.smile.MappingJackson2SmileHttpMessageConverter;
+
+/**
+ * Serialization of a page of activities, as returned by {@code GET /api/activities}, in each supported format.
+ * <p>
+ * The mappers are those of the application's message converters. {@code serialize} measures the encoding CPU,
+ * {@code serializeGzip} adds the gzip compression applied to responses above the size threshold. The raw and
+ * gzipped payload sizes are not measured by JMH, {@link #main(String[])} prints them for each format.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+public class ActivityPayloadBenchmark {
+
+    @Param({ "json", "smile", "cbor" })
+    public String format;
+
+    @Param({ "1000" })
+    public int pageSize;
+
+    private ConfigurableApplicationContext context;
+
+    private ObjectMapper objectMapper;
+
+    private List<ActivitySummary> page;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkContext.start("payload" + format);
+        page = seedPage(context, pageSize);
+        objectMapper = objectMapper(context, format);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public byte[] serialize() throws IOException {
+        return objectMapper.writeValueAsBytes(page);
+    }
+
+    @Benchmark
+    public byte[] serializeGzip() throws IOException {
+        return gzip(objectMapper, page);
+    }
+
+    /**
+     * Print the raw and gzipped size of a page of activities in each format.
+     *
+     * @param args the page size, 1000 if omitted.
+     * @throws IOException if a page cannot be serialized.
+     */
+    public static void main(String[] args) throws IOException {
+        int pageSize = args.length > 0 ? Integer.parseInt(args[0]) : 1000;
+        try (ConfigurableApplicationContext context = BenchmarkContext.start("payload")) {
+            List<ActivitySummary> page = seedPage(context, pageSize);
+            for (String format : List.of("json", "smile", "cbor")) {
+                ObjectMapper objectMapper = objectMapper(context, format);
+                System.out.printf("%s: %d bytes, %d bytes gzipped%n",
+                    format, objectMapper.writeValueAsBytes(page).length, gzip(objectMapper, page).length);
+            }
+        }
+    }
+
+    private static List<ActivitySummary> seedPage(ConfigurableApplicationContext context, int pageSize) {
+        BenchmarkContext.seed(context, pageSize, Math.max(1, pageSize / 100));
+        return context.getBean(ActivityService.class).findSlice(PageRequest.of(0, pageSize)).getContent();
+    }
+
+    private static ObjectMapper objectMapper(ConfigurableApplicationContext context, String format) {
+        Class<? extends AbstractJackson2HttpMessageConverter> converter = switch (format) {
+            case "smile" -> MappingJackson2SmileHttpMessageConverter.class;
+            case "cbor" -> MappingJackson2CborHttpMessageConverter.class;
+            default -> MappingJackson2HttpMessageConverter.class;
+        };
+        return context.getBean(converter).getObjectMapper();
+    }
+
+    private static byte[] gzip(ObjectMapper objectMapper, List<ActivitySummary> page) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (GZIPOutputStream gzip = new GZIPOutputStream(bytes)) {
+            objectMapper.writeValue(gzip, page);
+        }
+        return bytes.toByteArray();
+    }
+}
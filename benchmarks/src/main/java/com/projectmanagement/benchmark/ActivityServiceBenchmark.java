@@ -0,0 +1,97 @@
+package com.projectmanagement.benchmark;
+
+import com.projectmanagement.domain.Activity;
+import com.projectmanagement.domain.Project;
+import com.projectmanagement.domain.enumeration.Status;
+import com.projectmanagement.service.ActivityService;
+import java.time.Instant;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+
+/**
+ * Latency of writing activities.
+ * <p>
+ * {@code findVersionThenSave} is the update path used before {@code updateIfExists}: a version probe
+ * and a merge in two transactions. Both update benchmarks send no version, so they never conflict.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+public class ActivityServiceBenchmark {
+
+    @Param({ "10000", "100000", "1000000" })
+    public int rows;
+
+    private ConfigurableApplicationContext context;
+
+    private ActivityService activityService;
+
+    private int projects;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkContext.start("activities" + rows);
+        projects = BenchmarkContext.seed(context, rows);
+        activityService = context.getBean(ActivityService.class);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    private Activity activity(Long id) {
+        Project project = new Project();
+        project.setId(ThreadLocalRandom.current().nextLong(projects) + 1);
+        project.setVersion(0L);
+        Activity activity = new Activity();
+        activity.setId(id);
+        activity.setDescription("Benchmark activity");
+        activity.setStatus(Status.IN_PROGRESS);
+        activity.setStartDate(Instant.now());
+        activity.setProject(project);
+        return activity;
+    }
+
+    private Activity existingActivity() {
+        return activity(ThreadLocalRandom.current().nextLong(rows) + 1);
+    }
+
+    @Benchmark
+    public Object save() {
+        return activityService.save(activity(null));
+    }
+
+    @Benchmark
+    public Object updateIfExists() {
+        return activityService.updateIfExists(existingActivity());
+    }
+
+    @Benchmark
+    public Object findVersionThenSave() {
+        Activity activity = existingActivity();
+        return activityService
+            .findVersion(activity.getId())
+            .map(version -> {
+                activity.setVersion(version);
+                return activityService.save(activity);
+            });
+    }
+}
@@ -0,0 +1,110 @@
+package com.projectmanagement.benchmark;
+
+import com.projectmanagement.ProjectManagementApplication;
+import com.projectmanagement.domain.enumeration.Status;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+/**
+ * Starts the application without its web layer on an in-memory H2 database, and seeds it.
+ * <p>
+ * The seeded dataset has {@code rows} activities, one project per 100 activities and one client per 10 projects,
+ * so the three tables grow together with the benchmark parameter.
+ */
+final class BenchmarkContext {
+
+    private static final int BATCH_SIZE = 10_000;
+
+    private static final int ACTIVITY_ALLOCATION_SIZE = 50;
+
+    private static final Status[] STATUSES = Status.values();
+
+    private BenchmarkContext() {}
+
+    /**
+     * Start the application on a fresh in-memory database.
+     *
+     * @param name the name of the database, unique per benchmark.
+     * @return the application context.
+     */
+    static ConfigurableApplicationContext start(String name) {
+        return new SpringApplicationBuilder(ProjectManagementApplication.class)
+            .web(WebApplicationType.NONE)
+            .run(
+                "--spring.main.banner-mode=off",
+                "--spring.datasource.url=jdbc:h2:mem:" + name + ";DB_CLOSE_DELAY=-1",
+                "--spring.datasource.driver-class-name=org.h2.Driver",
+                "--spring.datasource.username=sa",
+                "--spring.datasource.password=",
+                "--spring.jpa.database-platform=org.hibernate.dialect.H2Dialect",
+                "--spring.jpa.show-sql=false",
+                "--logging.level.root=WARN"
+            );
+    }
+
+    /**
+     * Seed the database with {@code rows} activities and their projects and clients.
+     *
+     * @param context the application context.
+     * @param rows the number of activities.
+     * @return the number of projects.
+     */
+    static int seed(ConfigurableApplicationContext context, int rows) {
+        int projects = Math.max(1, rows / 100);
+        seed(context, rows, projects);
+        return projects;
+    }
+
+    /**
+     * Seed the database with {@code rows} activities spread over {@code projects} projects.
+     *
+     * @param context the application context.
+     * @param rows the number of activities.
+     * @param projects the number of projects.
+     */
+    static void seed(ConfigurableApplicationContext context, int rows, int projects) {
+        JdbcTemplate jdbcTemplate = context.getBean(JdbcTemplate.class);
+        int clients = Math.max(1, projects / 10);
+        Timestamp start = Timestamp.from(Instant.now().truncatedTo(ChronoUnit.SECONDS));
+
+        insert(jdbcTemplate, "insert into client (id, version, name, email, phone) values (?, 0, ?, ?, ?)", clients, id ->
+            new Object[] { id, "Client " + id, "client" + id + "@example.com", "555-" + id }
+        );
+        insert(jdbcTemplate, "insert into project (id, version, name, description, status, start_date, client_id) values (?, 0, ?, ?, ?, ?, ?)", projects, id ->
+            new Object[] { id, "Project " + id, "Description of project " + id, STATUSES[(int) (id % STATUSES.length)].name(), start, id % clients + 1 }
+        );
+        insert(jdbcTemplate, "insert into activity (id, version, description, status, start_date, project_id) values (?, 0, ?, ?, ?, ?)", rows, id ->
+            new Object[] { id, "Activity " + id, STATUSES[(int) (id % STATUSES.length)].name(), start, id % projects + 1 }
+        );
+
+        // generated ids must not collide with the seeded ones
+        jdbcTemplate.execute("alter table client alter column id restart with " + (clients + 1));
+        jdbcTemplate.execute("alter table project alter column id restart with " + (projects + 1));
+        // the pooled optimizer hands out the allocation of ids below the sequence value
+        jdbcTemplate.execute("alter sequence activity_seq restart with " + (rows + 1 + ACTIVITY_ALLOCATION_SIZE));
+        jdbcTemplate.execute("analyze");
+    }
+
+    private static void insert(JdbcTemplate jdbcTemplate, String sql, int count, RowFactory rowFactory) {
+        List<Object[]> batch = new ArrayList<>(BATCH_SIZE);
+        for (long id = 1; id <= count; id++) {
+            batch.add(rowFactory.row(id));
+            if (batch.size() == BATCH_SIZE || id == count) {
+                jdbcTemplate.batchUpdate(sql, batch);
+                batch.clear();
+            }
+        }
+    }
+
+    @FunctionalInterface
+    private interface RowFactory {
+        Object[] row(long id);
+    }
+}
@@ -0,0 +1,77 @@
+package com.projectmanagement.benchmark;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.datatype.hibernate6.Hibernate6Module;
+import com.projectmanagement.domain.Project;
+import com.projectmanagement.service.ProjectService;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+/**
+ * Jackson serialization of a project with its activities and client.
+ * <p>
+ * The {@code application} mapper is the application's {@link ObjectMapper}, which registers Blackbird; the
+ * {@code reflective} mapper is configured the same way without it, to measure what Blackbird saves.
+ * <p>
+ * The dataset is seeded with a single project owning {@code rows} activities, loaded once through
+ * {@link ProjectService#findOne(Long)}, so only serialization is measured.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+public class ProjectSerializationBenchmark {
+
+    @Param({ "10", "100", "1000" })
+    public int activities;
+
+    @Param({ "application", "reflective" })
+    public String mapper;
+
+    private ConfigurableApplicationContext context;
+
+    private ObjectMapper objectMapper;
+
+    private Project project;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkContext.start("serialization" + activities);
+        BenchmarkContext.seed(context, activities, 1);
+        objectMapper = "application".equals(mapper)
+            ? context.getBean(ObjectMapper.class)
+            : new Jackson2ObjectMapperBuilder()
+                .modulesToInstall(new Hibernate6Module())
+                .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+                .build();
+        project = context.getBean(ProjectService.class).findOne(1L).orElseThrow();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public byte[] serialize() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(project);
+    }
+}
@@ -0,0 +1,81 @@
+package com.projectmanagement.benchmark;
+
+import com.projectmanagement.service.ProjectService;
+import com.projectmanagement.service.dto.CursorPage;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+
+/**
+ * Latency of listing projects, by page position.
+ * <p>
+ * {@code findAll} is the offset page with its count query, {@code findSlice} the summary slice served
+ * by the list endpoint, and {@code findAllAfter} the keyset listing.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+public class ProjectServiceBenchmark {
+
+    private static final int PAGE_SIZE = 20;
+
+    @Param({ "10000", "100000", "1000000" })
+    public int rows;
+
+    private ConfigurableApplicationContext context;
+
+    private ProjectService projectService;
+
+    private int pages;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkContext.start("projects" + rows);
+        pages = Math.max(1, BenchmarkContext.seed(context, rows) / PAGE_SIZE);
+        projectService = context.getBean(ProjectService.class);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    private Pageable randomPage() {
+        return PageRequest.of(ThreadLocalRandom.current().nextInt(pages), PAGE_SIZE, Sort.by("id"));
+    }
+
+    @Benchmark
+    public Object findAll() {
+        return projectService.findAll(randomPage());
+    }
+
+    @Benchmark
+    public Object findSlice() {
+        return projectService.findSlice(randomPage());
+    }
+
+    @Benchmark
+    public Object findAllAfter() {
+        Pageable page = randomPage();
+        return projectService.findAllAfter(CursorPage.encodeCursor(page.getOffset()), PAGE_SIZE);
+    }
+}
@@ -0,0 +1,65 @@
+// Bursty read/write load against a running instance, for comparing the thread models:
+//
+//   SPRING_THREADS_VIRTUAL_ENABLED=false ./mvnw spring-boot:run   # platform threads
+//   SPRING_THREADS_VIRTUAL_ENABLED=true  ./mvnw spring-boot:run   # virtual threads + connection limiter
+//   k6 run -e BASE_URL=http://localhost:8080 loadtest/load-test.js
+//
+// Compare http_reqs (throughput) and the p(99) of http_req_duration between the two runs.
+import http from 'k6/http';
+import { check } from 'k6';
+
+const BASE_URL = __ENV.BASE_URL || 'http://localhost:8080';
+
+export const options = {
+  scenarios: {
+    burst: {
+      executor: 'ramping-arrival-rate',
+      startRate: 50,
+      timeUnit: '1s',
+      preAllocatedVUs: 200,
+      maxVUs: 2000,
+      stages: [
+        { target: 200, duration: '30s' },
+        { target: 1500, duration: '10s' },
+        { target: 1500, duration: '30s' },
+        { target: 200, duration: '10s' },
+        { target: 200, duration: '30s' },
+      ],
+    },
+  },
+  summaryTrendStats: ['avg', 'med', 'p(95)', 'p(99)', 'max'],
+  thresholds: {
+    http_req_failed: ['rate<0.01'],
+  },
+};
+
+export function setup() {
+  const client = http.post(`${BASE_URL}/api/clients`, JSON.stringify({ name: 'Load test', email: 'load@example.com' }), {
+    headers: { 'Content-Type': 'application/json' },
+  }).json();
+  const project = http.post(
+    `${BASE_URL}/api/projects`,
+    JSON.stringify({ name: 'Load test', status: 'OPEN', startDate: new Date().toISOString(), client: { id: client.id, version: 0 } }),
+    { headers: { 'Content-Type': 'application/json' } },
+  ).json();
+  return { projectId: project.id };
+}
+
+export default function (data) {
+  const roll = Math.random();
+  let res;
+  if (roll < 0.4) {
+    res = http.get(`${BASE_URL}/api/projects?page=0&size=20`, { tags: { name: 'projects' } });
+  } else if (roll < 0.7) {
+    res = http.get(`${BASE_URL}/api/activities/cursor?size=50`, { tags: { name: 'activities-cursor' } });
+  } else if (roll < 0.9) {
+    res = http.get(`${BASE_URL}/api/projects/${data.projectId}`, { tags: { name: 'project' } });
+  } else {
+    res = http.post(
+      `${BASE_URL}/api/activities/batch?projectId=${data.projectId}`,
+      JSON.stringify([{ description: 'Load test activity', status: 'OPEN', startDate: new Date().toISOString() }]),
+      { headers: { 'Content-Type': 'application/json' }, tags: { name: 'activities-batch' } },
+    );
+  }
+  check(res, { 'status is 2xx': (r) => r.status >= 200 && r.status < 300 });
+}
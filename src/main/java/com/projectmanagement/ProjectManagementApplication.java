@@ -2,10 +2,18 @@ package com.projectmanagement;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.data.web.config.EnableSpringDataWebSupport;
+import org.springframework.scheduling.annotation.EnableAsync;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+import com.projectmanagement.config.ApplicationProperties;
 
 @SpringBootApplication
 @EnableSpringDataWebSupport
+@EnableConfigurationProperties(ApplicationProperties.class)
+@EnableAsync
+@EnableScheduling
 public class ProjectManagementApplication {
 
 
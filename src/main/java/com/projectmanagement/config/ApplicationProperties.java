@@ -0,0 +1,322 @@
+package com.projectmanagement.config;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Properties specific to Project Management.
+ * <p>
+ * Properties are configured in the {@code application.properties} file.
+ */
+@ConfigurationProperties(prefix = "application", ignoreUnknownFields = false)
+public class ApplicationProperties {
+
+    private final Cache cache = new Cache();
+
+    private final Datasource datasource = new Datasource();
+
+    private final Sql sql = new Sql();
+
+    private final Partitions partitions = new Partitions();
+
+    private final Rollup rollup = new Rollup();
+
+    private final StatusQueue statusQueue = new StatusQueue();
+
+    private final ProjectDeletion projectDeletion = new ProjectDeletion();
+
+    private final CountEstimate countEstimate = new CountEstimate();
+
+    public Cache getCache() {
+        return cache;
+    }
+
+    public Datasource getDatasource() {
+        return datasource;
+    }
+
+    public Sql getSql() {
+        return sql;
+    }
+
+    public Partitions getPartitions() {
+        return partitions;
+    }
+
+    public Rollup getRollup() {
+        return rollup;
+    }
+
+    public StatusQueue getStatusQueue() {
+        return statusQueue;
+    }
+
+    public ProjectDeletion getProjectDeletion() {
+        return projectDeletion;
+    }
+
+    public CountEstimate getCountEstimate() {
+        return countEstimate;
+    }
+
+    public static class Cache {
+
+        private final Region defaults = new Region(Duration.ofHours(1), 1000L);
+
+        private final Map<String, Region> regions = new HashMap<>();
+
+        public Region getDefaults() {
+            return defaults;
+        }
+
+        public Map<String, Region> getRegions() {
+            return regions;
+        }
+
+        /**
+         * Get the settings of a region, falling back to the defaults for unset values.
+         *
+         * @param name the short name of the region.
+         * @return the settings of the region.
+         */
+        public Region region(String name) {
+            Region region = regions.getOrDefault(name, new Region());
+            return new Region(
+                region.getTimeToLive() != null ? region.getTimeToLive() : defaults.getTimeToLive(),
+                region.getMaxEntries() != null ? region.getMaxEntries() : defaults.getMaxEntries()
+            );
+        }
+    }
+
+    public static class Region {
+
+        private Duration timeToLive;
+
+        private Long maxEntries;
+
+        public Region() {}
+
+        public Region(Duration timeToLive, Long maxEntries) {
+            this.timeToLive = timeToLive;
+            this.maxEntries = maxEntries;
+        }
+
+        public Duration getTimeToLive() {
+            return timeToLive;
+        }
+
+        public void setTimeToLive(Duration timeToLive) {
+            this.timeToLive = timeToLive;
+        }
+
+        public Long getMaxEntries() {
+            return maxEntries;
+        }
+
+        public void setMaxEntries(Long maxEntries) {
+            this.maxEntries = maxEntries;
+        }
+    }
+
+    public static class Datasource {
+
+        private final ConcurrencyLimit concurrencyLimit = new ConcurrencyLimit();
+
+        public ConcurrencyLimit getConcurrencyLimit() {
+            return concurrencyLimit;
+        }
+    }
+
+    public static class ConcurrencyLimit {
+
+        private boolean enabled = false;
+
+        private int permits = 10;
+
+        private Duration acquireTimeout = Duration.ofSeconds(5);
+
+        public boolean isEnabled() {
+            return enabled;
+        }
+
+        public void setEnabled(boolean enabled) {
+            this.enabled = enabled;
+        }
+
+        public int getPermits() {
+            return permits;
+        }
+
+        public void setPermits(int permits) {
+            this.permits = permits;
+        }
+
+        public Duration getAcquireTimeout() {
+            return acquireTimeout;
+        }
+
+        public void setAcquireTimeout(Duration acquireTimeout) {
+            this.acquireTimeout = acquireTimeout;
+        }
+    }
+
+    public static class Sql {
+
+        private int statementBudget = 20;
+
+        private Duration slowRequestThreshold = Duration.ofSeconds(1);
+
+        private Duration slowStatementThreshold = Duration.ofMillis(500);
+
+        public int getStatementBudget() {
+            return statementBudget;
+        }
+
+        public void setStatementBudget(int statementBudget) {
+            this.statementBudget = statementBudget;
+        }
+
+        public Duration getSlowRequestThreshold() {
+            return slowRequestThreshold;
+        }
+
+        public void setSlowRequestThreshold(Duration slowRequestThreshold) {
+            this.slowRequestThreshold = slowRequestThreshold;
+        }
+
+        public Duration getSlowStatementThreshold() {
+            return slowStatementThreshold;
+        }
+
+        public void setSlowStatementThreshold(Duration slowStatementThreshold) {
+            this.slowStatementThreshold = slowStatementThreshold;
+        }
+    }
+
+    public static class Partitions {
+
+        private int monthsAhead = 3;
+
+        private String cron = "0 0 3 * * *";
+
+        public int getMonthsAhead() {
+            return monthsAhead;
+        }
+
+        public void setMonthsAhead(int monthsAhead) {
+            this.monthsAhead = monthsAhead;
+        }
+
+        public String getCron() {
+            return cron;
+        }
+
+        public void setCron(String cron) {
+            this.cron = cron;
+        }
+    }
+
+    public static class Rollup {
+
+        private String rebuildCron = "0 30 3 * * *";
+
+        private int rebuildBatchSize = 500;
+
+        public String getRebuildCron() {
+            return rebuildCron;
+        }
+
+        public void setRebuildCron(String rebuildCron) {
+            this.rebuildCron = rebuildCron;
+        }
+
+        public int getRebuildBatchSize() {
+            return rebuildBatchSize;
+        }
+
+        public void setRebuildBatchSize(int rebuildBatchSize) {
+            this.rebuildBatchSize = rebuildBatchSize;
+        }
+    }
+
+    public static class StatusQueue {
+
+        private int capacity = 10000;
+
+        private int batchSize = 500;
+
+        private Duration flushInterval = Duration.ofSeconds(1);
+
+        private int maxAttempts = 3;
+
+        public int getCapacity() {
+            return capacity;
+        }
+
+        public void setCapacity(int capacity) {
+            this.capacity = capacity;
+        }
+
+        public int getBatchSize() {
+            return batchSize;
+        }
+
+        public void setBatchSize(int batchSize) {
+            this.batchSize = batchSize;
+        }
+
+        public Duration getFlushInterval() {
+            return flushInterval;
+        }
+
+        public void setFlushInterval(Duration flushInterval) {
+            this.flushInterval = flushInterval;
+        }
+
+        public int getMaxAttempts() {
+            return maxAttempts;
+        }
+
+        public void setMaxAttempts(int maxAttempts) {
+            this.maxAttempts = maxAttempts;
+        }
+    }
+
+    public static class ProjectDeletion {
+
+        private int chunkSize = 1000;
+
+        private Duration retention = Duration.ofHours(1);
+
+        public int getChunkSize() {
+            return chunkSize;
+        }
+
+        public void setChunkSize(int chunkSize) {
+            this.chunkSize = chunkSize;
+        }
+
+        public Duration getRetention() {
+            return retention;
+        }
+
+        public void setRetention(Duration retention) {
+            this.retention = retention;
+        }
+    }
+
+    public static class CountEstimate {
+
+        private Duration ttl = Duration.ofSeconds(30);
+
+        public Duration getTtl() {
+            return ttl;
+        }
+
+        public void setTtl(Duration ttl) {
+            this.ttl = ttl;
+        }
+    }
+}
@@ -0,0 +1,79 @@
+package com.projectmanagement.config;
+
+import com.github.benmanes.caffeine.jcache.configuration.CaffeineConfiguration;
+import com.projectmanagement.domain.Activity;
+import com.projectmanagement.domain.Client;
+import com.projectmanagement.domain.Project;
+import com.projectmanagement.service.ActivityService;
+import com.projectmanagement.service.ClientService;
+import java.util.OptionalLong;
+import javax.cache.CacheManager;
+import org.hibernate.cache.jcache.ConfigSettings;
+import org.springframework.boot.autoconfigure.cache.JCacheManagerCustomizer;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Caffeine-backed JCache regions, shared by the Hibernate second-level cache and Spring's cache abstraction.
+ * <p>
+ * Each region is sized and expired from {@code application.cache.regions.<name>}, falling back to
+ * {@code application.cache.defaults}. Statistics are enabled so hits and misses are published as
+ * {@code cache.gets} metrics.
+ */
+@Configuration
+@EnableCaching
+public class CacheConfiguration {
+
+    private final ApplicationProperties.Cache properties;
+
+    public CacheConfiguration(ApplicationProperties applicationProperties) {
+        this.properties = applicationProperties.getCache();
+    }
+
+    @Bean
+    public HibernatePropertiesCustomizer hibernatePropertiesCustomizer(CacheManager cacheManager) {
+        return hibernateProperties -> hibernateProperties.put(ConfigSettings.CACHE_MANAGER, cacheManager);
+    }
+
+    @Bean
+    public JCacheManagerCustomizer cacheManagerCustomizer() {
+        return cm -> {
+            createCache(cm, Client.class.getName(), "client");
+            createCache(cm, Project.class.getName(), "project");
+            createCache(cm, Activity.class.getName(), "activity");
+            createCache(cm, ActivityService.PROJECT_STATS_CACHE, ActivityService.PROJECT_STATS_CACHE);
+            createCache(cm, ActivityService.CLIENT_PROJECT_STATS_CACHE, ActivityService.CLIENT_PROJECT_STATS_CACHE);
+            createCache(cm, ClientService.CLIENT_SUGGESTIONS_CACHE, ClientService.CLIENT_SUGGESTIONS_CACHE);
+            createCache(cm, "default-query-results-region", configuration(properties.region("query-results")));
+            // The timestamps must outlive every cached query result, so this region never expires
+            createCache(cm, "default-update-timestamps-region", statistics(new CaffeineConfiguration<>()));
+        };
+    }
+
+    private void createCache(CacheManager cm, String cacheName, String regionName) {
+        createCache(cm, cacheName, configuration(properties.region(regionName)));
+    }
+
+    private static void createCache(CacheManager cm, String cacheName, CaffeineConfiguration<Object, Object> configuration) {
+        javax.cache.Cache<Object, Object> cache = cm.getCache(cacheName);
+        if (cache != null) {
+            cache.clear();
+        } else {
+            cm.createCache(cacheName, configuration);
+        }
+    }
+
+    private static CaffeineConfiguration<Object, Object> configuration(ApplicationProperties.Region region) {
+        CaffeineConfiguration<Object, Object> configuration = new CaffeineConfiguration<>();
+        configuration.setMaximumSize(OptionalLong.of(region.getMaxEntries()));
+        configuration.setExpireAfterWrite(OptionalLong.of(region.getTimeToLive().toNanos()));
+        return statistics(configuration);
+    }
+
+    private static CaffeineConfiguration<Object, Object> statistics(CaffeineConfiguration<Object, Object> configuration) {
+        configuration.setStatisticsEnabled(true);
+        return configuration;
+    }
+}
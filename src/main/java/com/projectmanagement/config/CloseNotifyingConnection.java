@@ -0,0 +1,71 @@
+package com.projectmanagement.config;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * A {@link Connection} proxy that runs a callback the first time the connection is closed.
+ */
+final class CloseNotifyingConnection implements InvocationHandler {
+
+    private final Connection target;
+
+    private final Runnable onClose;
+
+    private final AtomicBoolean closed = new AtomicBoolean();
+
+    private CloseNotifyingConnection(Connection target, Runnable onClose) {
+        this.target = target;
+        this.onClose = onClose;
+    }
+
+    /**
+     * Wrap a connection.
+     *
+     * @param target the connection to wrap.
+     * @param onClose the callback to run once, after the target is closed.
+     * @return the wrapped connection.
+     */
+    static Connection wrap(Connection target, Runnable onClose) {
+        return (Connection) Proxy.newProxyInstance(
+            CloseNotifyingConnection.class.getClassLoader(),
+            new Class<?>[] { Connection.class },
+            new CloseNotifyingConnection(target, onClose)
+        );
+    }
+
+    @Override
+    public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+        switch (method.getName()) {
+            case "equals":
+                return proxy == args[0];
+            case "hashCode":
+                return System.identityHashCode(proxy);
+            case "unwrap":
+                if (((Class<?>) args[0]).isInstance(proxy)) {
+                    return proxy;
+                }
+                break;
+            case "isWrapperFor":
+                if (((Class<?>) args[0]).isInstance(proxy)) {
+                    return true;
+                }
+                break;
+            default:
+                break;
+        }
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException e) {
+            throw e.getTargetException();
+        } finally {
+            if ("close".equals(method.getName()) && closed.compareAndSet(false, true)) {
+                onClose.run();
+            }
+        }
+    }
+}
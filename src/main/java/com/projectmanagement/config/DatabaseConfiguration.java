@@ -0,0 +1,75 @@
+package com.projectmanagement.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import javax.sql.DataSource;
+import net.ttddyy.dsproxy.support.ProxyDataSource;
+import net.ttddyy.dsproxy.support.ProxyDataSourceBuilder;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.util.function.SingletonSupplier;
+
+@Configuration
+public class DatabaseConfiguration {
+
+    /**
+     * Put a {@link ConcurrencyLimitingDataSource} in front of the connection pool.
+     * <p>
+     * Enabled by {@code application.datasource.concurrency-limit.enabled}, which follows
+     * {@code spring.threads.virtual.enabled} by default.
+     */
+    @Bean
+    @ConditionalOnExpression("${application.datasource.concurrency-limit.enabled:${spring.threads.virtual.enabled:false}}")
+    public static BeanPostProcessor concurrencyLimitingDataSourcePostProcessor(ObjectProvider<ApplicationProperties> applicationProperties) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (bean instanceof DataSource dataSource && !(bean instanceof ConcurrencyLimitingDataSource)) {
+                    ApplicationProperties.ConcurrencyLimit limit = applicationProperties.getObject().getDatasource().getConcurrencyLimit();
+                    return new ConcurrencyLimitingDataSource(dataSource, limit.getPermits(), limit.getAcquireTimeout());
+                }
+                return bean;
+            }
+        };
+    }
+
+    /**
+     * Record the connection hold time per controller with a {@link MeteredDataSource}.
+     * <p>
+     * The registry is looked up on first use, as the pool metrics bound to it need the data source.
+     */
+    @Bean
+    public static BeanPostProcessor meteredDataSourcePostProcessor(ObjectProvider<MeterRegistry> meterRegistry) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (bean instanceof DataSource dataSource && !(bean instanceof MeteredDataSource)) {
+                    return new MeteredDataSource(dataSource, SingletonSupplier.of(meterRegistry::getObject));
+                }
+                return bean;
+            }
+        };
+    }
+
+    /**
+     * Count and time every statement with a datasource-proxy {@link SqlStatementListener}.
+     */
+    @Bean
+    public static BeanPostProcessor statementCountingDataSourcePostProcessor(ObjectProvider<ApplicationProperties> applicationProperties) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (bean instanceof DataSource dataSource && !(bean instanceof ProxyDataSource)) {
+                    ApplicationProperties.Sql sql = applicationProperties.getObject().getSql();
+                    return ProxyDataSourceBuilder.create(dataSource)
+                        .name(beanName)
+                        .listener(new SqlStatementListener(sql.getSlowStatementThreshold()))
+                        .build();
+                }
+                return bean;
+            }
+        };
+    }
+}
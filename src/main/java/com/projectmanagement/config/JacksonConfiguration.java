@@ -0,0 +1,57 @@
+package com.projectmanagement.config;
+
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import com.fasterxml.jackson.datatype.hibernate6.Hibernate6Module;
+import com.fasterxml.jackson.module.blackbird.BlackbirdModule;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.http.converter.smile.MappingJackson2SmileHttpMessageConverter;
+
+@Configuration
+public class JacksonConfiguration {
+
+    /**
+     * Support for Hibernate types in Jackson.
+     * <p>
+     * Lazy associations that were not fetched by the query are serialized as {@code null}
+     * instead of being loaded one by one while the response is written.
+     */
+    @Bean
+    public Hibernate6Module hibernate6Module() {
+        return new Hibernate6Module();
+    }
+
+    /**
+     * Property access through generated lambdas instead of reflection.
+     * <p>
+     * The getters, setters and constructors of the serialized types are bound once with
+     * {@code LambdaMetafactory}, which the JIT can inline, instead of being invoked reflectively for every value.
+     */
+    @Bean
+    public BlackbirdModule blackbirdModule() {
+        return new BlackbirdModule();
+    }
+
+    /**
+     * Smile, Jackson's binary JSON, for clients sending {@code Accept: application/x-jackson-smile}.
+     * <p>
+     * Built with the same modules and settings as the JSON mapper. JSON stays the default for other clients.
+     */
+    @Bean
+    public MappingJackson2SmileHttpMessageConverter smileHttpMessageConverter(Jackson2ObjectMapperBuilder builder) {
+        return new MappingJackson2SmileHttpMessageConverter(builder.factory(new SmileFactory()).build());
+    }
+
+    /**
+     * CBOR (RFC 8949), for clients sending {@code Accept: application/cbor}.
+     * <p>
+     * Built with the same modules and settings as the JSON mapper. JSON stays the default for other clients.
+     */
+    @Bean
+    public MappingJackson2CborHttpMessageConverter cborHttpMessageConverter(Jackson2ObjectMapperBuilder builder) {
+        return new MappingJackson2CborHttpMessageConverter(builder.factory(new CBORFactory()).build());
+    }
+}
@@ -0,0 +1,63 @@
+package com.projectmanagement.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.function.Supplier;
+import javax.sql.DataSource;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerMapping;
+
+/**
+ * A {@link DataSource} that records how long each borrowed connection is held, per controller.
+ * <p>
+ * The time from borrowing a connection to closing it is published as the {@value #HOLD_TIME_METRIC} timer,
+ * tagged with the simple name of the controller handling the current request, or {@code none} outside
+ * of a request (for example scheduled work or a streamed response).
+ */
+public class MeteredDataSource extends DelegatingDataSource {
+
+    public static final String HOLD_TIME_METRIC = "db.connection.hold";
+
+    private static final String NO_CONTROLLER = "none";
+
+    private final Supplier<MeterRegistry> meterRegistry;
+
+    public MeteredDataSource(DataSource targetDataSource, Supplier<MeterRegistry> meterRegistry) {
+        super(targetDataSource);
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return record(super.getConnection());
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return record(super.getConnection(username, password));
+    }
+
+    private Connection record(Connection connection) {
+        MeterRegistry registry = meterRegistry.get();
+        Timer timer = Timer.builder(HOLD_TIME_METRIC)
+            .description("Time a connection is held between borrowing and closing it")
+            .tag("controller", currentController())
+            .register(registry);
+        Timer.Sample sample = Timer.start(registry);
+        return CloseNotifyingConnection.wrap(connection, () -> sample.stop(timer));
+    }
+
+    private static String currentController() {
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        if (attributes == null) {
+            return NO_CONTROLLER;
+        }
+        Object handler = attributes.getAttribute(HandlerMapping.BEST_MATCHING_HANDLER_ATTRIBUTE, RequestAttributes.SCOPE_REQUEST);
+        return handler instanceof HandlerMethod handlerMethod ? handlerMethod.getBeanType().getSimpleName() : NO_CONTROLLER;
+    }
+}
@@ -0,0 +1,43 @@
+package com.projectmanagement.config;
+
+import java.time.Duration;
+import java.util.List;
+import net.ttddyy.dsproxy.ExecutionInfo;
+import net.ttddyy.dsproxy.QueryInfo;
+import net.ttddyy.dsproxy.listener.QueryExecutionListener;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Records every executed statement in the {@link SqlStatementStats} of the current thread,
+ * and logs the statements slower than a threshold.
+ */
+public class SqlStatementListener implements QueryExecutionListener {
+
+    private static final Logger LOG = LoggerFactory.getLogger(SqlStatementListener.class);
+
+    private final long slowStatementThresholdMillis;
+
+    public SqlStatementListener(Duration slowStatementThreshold) {
+        this.slowStatementThresholdMillis = slowStatementThreshold.toMillis();
+    }
+
+    @Override
+    public void beforeQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {}
+
+    @Override
+    public void afterQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+        if (queryInfoList.isEmpty()) {
+            return;
+        }
+        String sql = queryInfoList.get(0).getQuery();
+        long elapsedMillis = execInfo.getElapsedTime();
+        SqlStatementStats stats = SqlStatementStats.current();
+        if (stats != null) {
+            stats.record(sql, elapsedMillis);
+        }
+        if (elapsedMillis >= slowStatementThresholdMillis) {
+            LOG.warn("Slow statement ({} ms) : {}", elapsedMillis, SqlStatementStats.fingerprint(sql));
+        }
+    }
+}
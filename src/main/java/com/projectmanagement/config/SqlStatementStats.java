@@ -0,0 +1,96 @@
+package com.projectmanagement.config;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.regex.Pattern;
+
+/**
+ * The SQL statements executed by the current thread since {@link #start()}, typically one HTTP request.
+ * <p>
+ * Statements are counted per round trip, so a JDBC batch counts once. Each statement is also recorded
+ * by its fingerprint, the SQL with literals replaced by {@code ?}, so repeated statements such as an
+ * N+1 pattern show up as a single fingerprint with a high count.
+ */
+public final class SqlStatementStats {
+
+    private static final ThreadLocal<SqlStatementStats> CURRENT = new ThreadLocal<>();
+
+    private static final Pattern STRING_LITERAL = Pattern.compile("'(?:[^']|'')*'");
+
+    private static final Pattern NUMBER_LITERAL = Pattern.compile("\\b\\d+(?:\\.\\d+)?\\b");
+
+    private static final Pattern IN_LIST = Pattern.compile("\\(\\s*\\?(?:\\s*,\\s*\\?)+\\s*\\)");
+
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+
+    private int count;
+
+    private long elapsedMillis;
+
+    private final Map<String, Integer> fingerprints = new LinkedHashMap<>();
+
+    private SqlStatementStats() {}
+
+    /**
+     * Start counting the statements of the current thread.
+     *
+     * @return the new statistics.
+     */
+    public static SqlStatementStats start() {
+        SqlStatementStats stats = new SqlStatementStats();
+        CURRENT.set(stats);
+        return stats;
+    }
+
+    /**
+     * Get the statistics of the current thread.
+     *
+     * @return the statistics, or {@code null} if the current thread is not counting.
+     */
+    public static SqlStatementStats current() {
+        return CURRENT.get();
+    }
+
+    /**
+     * Stop counting the statements of the current thread.
+     */
+    public static void stop() {
+        CURRENT.remove();
+    }
+
+    void record(String sql, long elapsedMillis) {
+        this.count++;
+        this.elapsedMillis += elapsedMillis;
+        this.fingerprints.merge(fingerprint(sql), 1, Integer::sum);
+    }
+
+    public int getCount() {
+        return count;
+    }
+
+    public long getElapsedMillis() {
+        return elapsedMillis;
+    }
+
+    /**
+     * Get the number of executions of each statement fingerprint, in order of first execution.
+     *
+     * @return the executions per fingerprint.
+     */
+    public Map<String, Integer> getFingerprints() {
+        return fingerprints;
+    }
+
+    /**
+     * Normalize a statement so that executions differing only by literal values share a fingerprint.
+     *
+     * @param sql the statement.
+     * @return the fingerprint.
+     */
+    static String fingerprint(String sql) {
+        String fingerprint = STRING_LITERAL.matcher(sql).replaceAll("?");
+        fingerprint = NUMBER_LITERAL.matcher(fingerprint).replaceAll("?");
+        fingerprint = IN_LIST.matcher(fingerprint).replaceAll("(?...)");
+        return WHITESPACE.matcher(fingerprint).replaceAll(" ").trim();
+    }
+}
@@ -4,32 +4,61 @@ import java.io.Serializable;
 import java.time.Instant;
 
 import com.fasterxml.jackson.annotation.JsonBackReference;
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.projectmanagement.domain.enumeration.Status;
+import com.projectmanagement.service.ClientRollupListener;
 
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
+import jakarta.persistence.EntityListeners;
 import jakarta.persistence.EnumType;
 import jakarta.persistence.Enumerated;
 import jakarta.persistence.FetchType;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
+import jakarta.persistence.PostLoad;
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostUpdate;
+import jakarta.persistence.SequenceGenerator;
 import jakarta.persistence.Table;
+import jakarta.persistence.Transient;
+import jakarta.persistence.Version;
 import jakarta.validation.constraints.NotNull;
 
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.ColumnDefault;
+import org.hibernate.annotations.DynamicUpdate;
+
 @Entity
-@Table(name = "activity")
+@EntityListeners(ClientRollupListener.class)
+@Table(
+    name = "activity",
+    // Serves the search by project, status and start date window
+    indexes = @Index(name = "idx_activity_project_status_start_date", columnList = "project_id, status, start_date")
+)
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
+// Updates only write the changed columns; JDBC batches then group the updates changing the same columns
+@DynamicUpdate
 public class Activity implements Serializable {
 
     private static final long serialVersionUID = 1L;
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "activity_seq")
+    @SequenceGenerator(name = "activity_seq", sequenceName = "activity_seq", allocationSize = 50)
     @Column(name = "id")
     private Long id;
 
+    @Version
+    @ColumnDefault("0")
+    @Column(name = "version", nullable = false)
+    private Long version;
+
     @NotNull
     @Column(name = "description", nullable = false)
     private String description;
@@ -39,6 +68,7 @@ public class Activity implements Serializable {
     @Column(name = "status", nullable = false)
     private Status status;
 
+    @NotNull
     @Column(name = "start_date", nullable = false)
     private Instant startDate;
 
@@ -50,6 +80,16 @@ public class Activity implements Serializable {
     @JsonBackReference
     private Project project;
 
+    // The state last read or written, from which ClientRollupListener computes the rollup deltas of a write
+    @Transient
+    private Status persistedStatus;
+
+    @Transient
+    private Instant persistedStartDate;
+
+    @Transient
+    private Long persistedProjectId;
+
     // Getters e Setters
 
     public Long getId() {
@@ -60,6 +100,14 @@ public class Activity implements Serializable {
         this.id = id;
     }
 
+    public Long getVersion() {
+        return version;
+    }
+
+    public void setVersion(Long version) {
+        this.version = version;
+    }
+
     public String getDescription() {
         return description;
     }
@@ -100,6 +148,31 @@ public class Activity implements Serializable {
         this.project = project;
     }
 
+    @JsonIgnore
+    public Status getPersistedStatus() {
+        return persistedStatus;
+    }
+
+    @JsonIgnore
+    public Instant getPersistedStartDate() {
+        return persistedStartDate;
+    }
+
+    @JsonIgnore
+    public Long getPersistedProjectId() {
+        return persistedProjectId;
+    }
+
+    // Entity listeners run first, so they still see the previous state on update
+    @PostLoad
+    @PostPersist
+    @PostUpdate
+    void rememberPersistedState() {
+        persistedStatus = status;
+        persistedStartDate = startDate;
+        persistedProjectId = project == null ? null : project.getId();
+    }
+
     // hashCode e equals
 
     @Override
@@ -0,0 +1,121 @@
+package com.projectmanagement.domain;
+
+import com.projectmanagement.domain.enumeration.Status;
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import java.io.Serializable;
+import java.time.Instant;
+
+/**
+ * The number of projects and activities of each status of a client, kept up to date on every write
+ * so management reports read a single row instead of the whole graph.
+ */
+@Entity
+@Table(name = "client_rollup")
+public class ClientRollup implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    @Id
+    @Column(name = "client_id")
+    private Long clientId;
+
+    @Column(name = "projects_open", nullable = false)
+    private long projectsOpen;
+
+    @Column(name = "projects_in_progress", nullable = false)
+    private long projectsInProgress;
+
+    @Column(name = "projects_completed", nullable = false)
+    private long projectsCompleted;
+
+    @Column(name = "projects_pending", nullable = false)
+    private long projectsPending;
+
+    @Column(name = "activities_open", nullable = false)
+    private long activitiesOpen;
+
+    @Column(name = "activities_in_progress", nullable = false)
+    private long activitiesInProgress;
+
+    @Column(name = "activities_completed", nullable = false)
+    private long activitiesCompleted;
+
+    @Column(name = "activities_pending", nullable = false)
+    private long activitiesPending;
+
+    @Column(name = "last_activity_date")
+    private Instant lastActivityDate;
+
+    @Column(name = "refreshed_at", nullable = false)
+    private Instant refreshedAt;
+
+    protected ClientRollup() {}
+
+    public ClientRollup(Long clientId) {
+        this.clientId = clientId;
+    }
+
+    public Long getClientId() {
+        return clientId;
+    }
+
+    public long getProjectCount(Status status) {
+        return switch (status) {
+            case OPEN -> projectsOpen;
+            case IN_PROGRESS -> projectsInProgress;
+            case COMPLETED -> projectsCompleted;
+            case PENDING -> projectsPending;
+        };
+    }
+
+    public void setProjectCount(Status status, long count) {
+        switch (status) {
+            case OPEN -> projectsOpen = count;
+            case IN_PROGRESS -> projectsInProgress = count;
+            case COMPLETED -> projectsCompleted = count;
+            case PENDING -> projectsPending = count;
+        }
+    }
+
+    public long getActivityCount(Status status) {
+        return switch (status) {
+            case OPEN -> activitiesOpen;
+            case IN_PROGRESS -> activitiesInProgress;
+            case COMPLETED -> activitiesCompleted;
+            case PENDING -> activitiesPending;
+        };
+    }
+
+    public void setActivityCount(Status status, long count) {
+        switch (status) {
+            case OPEN -> activitiesOpen = count;
+            case IN_PROGRESS -> activitiesInProgress = count;
+            case COMPLETED -> activitiesCompleted = count;
+            case PENDING -> activitiesPending = count;
+        }
+    }
+
+    public Instant getLastActivityDate() {
+        return lastActivityDate;
+    }
+
+    public void setLastActivityDate(Instant lastActivityDate) {
+        this.lastActivityDate = lastActivityDate;
+    }
+
+    public Instant getRefreshedAt() {
+        return refreshedAt;
+    }
+
+    public void setRefreshedAt(Instant refreshedAt) {
+        this.refreshedAt = refreshedAt;
+    }
+
+    @Override
+    public String toString() {
+        return "ClientRollup{" + "clientId=" + clientId + ", refreshedAt=" + refreshedAt + '}';
+    }
+}
@@ -1,10 +1,15 @@
 package com.projectmanagement.domain;
 
-import com.fasterxml.jackson.annotation.JsonBackReference;
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonManagedReference;
 import com.projectmanagement.domain.enumeration.Status;
+import com.projectmanagement.service.ClientRollupListener;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.NotNull;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.ColumnDefault;
+import org.hibernate.annotations.DynamicUpdate;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import java.io.Serializable;
 import java.time.Instant;
 import java.time.LocalDate;
@@ -13,7 +18,11 @@ import java.util.Objects;
 import java.util.Set;
 
 @Entity
+@EntityListeners(ClientRollupListener.class)
 @Table(name = "project")
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
+// Updates only write the changed columns, so patching the name does not rewrite the rest of the row
+@DynamicUpdate
 public class Project implements Serializable {
 
     private static final long serialVersionUID = 1L;
@@ -23,6 +32,11 @@ public class Project implements Serializable {
     @Column(name = "id")
     private Long id;
 
+    @Version
+    @ColumnDefault("0")
+    @Column(name = "version", nullable = false)
+    private Long version;
+
     @NotNull
     @Column(name = "name", nullable = false)
     private String name;
@@ -48,9 +62,15 @@ public class Project implements Serializable {
 
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "client_id", nullable = false)
-    @JsonBackReference 
     private Client client;
 
+    // The state last read or written, from which ClientRollupListener computes the rollup deltas of a write
+    @Transient
+    private Status persistedStatus;
+
+    @Transient
+    private Long persistedClientId;
+
     // Getters e Setters
     public Long getId() {
         return id;
@@ -60,6 +80,14 @@ public class Project implements Serializable {
         this.id = id;
     }
 
+    public Long getVersion() {
+        return version;
+    }
+
+    public void setVersion(Long version) {
+        this.version = version;
+    }
+
     public String getName() {
         return name;
     }
@@ -116,6 +144,25 @@ public class Project implements Serializable {
         this.client = client;
     }
 
+    @JsonIgnore
+    public Status getPersistedStatus() {
+        return persistedStatus;
+    }
+
+    @JsonIgnore
+    public Long getPersistedClientId() {
+        return persistedClientId;
+    }
+
+    // Entity listeners run first, so they still see the previous state on update
+    @PostLoad
+    @PostPersist
+    @PostUpdate
+    void rememberPersistedState() {
+        persistedStatus = status;
+        persistedClientId = client == null ? null : client.getId();
+    }
+
     @Override
     public boolean equals(Object o) {
         if (this == o) return true;
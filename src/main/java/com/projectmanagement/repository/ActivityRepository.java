@@ -1,7 +1,17 @@
 package com.projectmanagement.repository;
 
 import com.projectmanagement.domain.Activity;
+import com.projectmanagement.repository.projection.ActivityStatusCount;
+import com.projectmanagement.repository.projection.ActivitySummary;
+import jakarta.persistence.LockModeType;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.*;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 /**
@@ -9,4 +19,137 @@ import org.springframework.stereotype.Repository;
  */
 @SuppressWarnings("unused")
 @Repository
-public interface ActivityRepository extends JpaRepository<Activity, Long> {}
+public interface ActivityRepository extends JpaRepository<Activity, Long>, JpaSpecificationExecutor<Activity>, ActivitySearchRepository {
+    /**
+     * Keyset (seek) query: the activities with an id greater than {@code id}, in id order.
+     * Unlike offset pagination, the cost does not grow with the position in the listing and no count query is run.
+     *
+     * @param id the id of the last activity of the previous page, {@code 0} for the first page.
+     * @param limit the maximum number of rows to fetch.
+     * @return the list of summaries.
+     */
+    @Query("select new com.projectmanagement.repository.projection.ActivitySummary(a.id, a.description, a.status, a.startDate, a.endDate, a.project.id) from Activity a where a.id > :id order by a.id")
+    List<ActivitySummary> findSummariesAfter(@Param("id") Long id, Limit limit);
+
+    /**
+     * Get a slice of activities as summaries, without running a count query.
+     *
+     * @param pageable the pagination information.
+     * @return the slice of summaries.
+     */
+    @Query("select new com.projectmanagement.repository.projection.ActivitySummary(a.id, a.description, a.status, a.startDate, a.endDate, a.project.id) from Activity a")
+    Slice<ActivitySummary> findAllSummariesBy(Pageable pageable);
+
+    /**
+     * Keyset (seek) query: the activities of a project with an id greater than {@code id}, in id order.
+     * <p>
+     * Served by the {@code (project_id, id)} index.
+     *
+     * @param projectId the id of the project.
+     * @param id the id of the last activity of the previous page, {@code 0} for the first page.
+     * @param limit the maximum number of rows to fetch.
+     * @return the list of summaries.
+     */
+    @Query(
+        "select new com.projectmanagement.repository.projection.ActivitySummary(a.id, a.description, a.status, a.startDate, a.endDate, a.project.id) " +
+        "from Activity a where a.project.id = :projectId and a.id > :id order by a.id"
+    )
+    List<ActivitySummary> findSummariesByProjectIdAfter(@Param("projectId") Long projectId, @Param("id") Long id, Limit limit);
+
+    /**
+     * Count the activities of a project.
+     *
+     * @param projectId the id of the project.
+     * @return the number of activities.
+     */
+    long countByProjectId(Long projectId);
+
+    /**
+     * Keyset (seek) query: the ids of the activities of a project greater than {@code id}, in id order,
+     * locking their rows until the end of the transaction.
+     * <p>
+     * Served by the {@code (project_id, id)} index.
+     *
+     * @param projectId the id of the project.
+     * @param id the id of the last activity of the previous chunk, {@code 0} for the first chunk.
+     * @param limit the maximum number of ids to fetch.
+     * @return the ids.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select a.id from Activity a where a.project.id = :projectId and a.id > :id order by a.id")
+    List<Long> findIdsByProjectIdAfterForUpdate(@Param("projectId") Long projectId, @Param("id") Long id, Limit limit);
+
+    /**
+     * Delete all the activities of a project in a single statement, without loading them.
+     * <p>
+     * The delete bypasses the persistence context and the entity listeners; Hibernate invalidates the activity
+     * cache regions, including the cached activities of each project, when it runs.
+     *
+     * @param projectId the id of the project.
+     * @return the number of activities deleted.
+     */
+    @Modifying
+    @Query("delete from Activity a where a.project.id = :projectId")
+    int deleteByProjectId(@Param("projectId") Long projectId);
+
+    /**
+     * Delete some activities of a project in a single statement, without loading them.
+     *
+     * @param projectId the id of the project.
+     * @param ids the ids of the activities.
+     * @return the number of activities deleted.
+     */
+    @Modifying
+    @Query("delete from Activity a where a.project.id = :projectId and a.id in :ids")
+    int deleteByProjectIdAndIdIn(@Param("projectId") Long projectId, @Param("ids") Collection<Long> ids);
+
+    /**
+     * Get the version of a activity, without loading it.
+     *
+     * @param id the id of the entity.
+     * @return the version, or empty if the entity does not exist.
+     */
+    @Query("select a.version from Activity a where a.id = :id")
+    Optional<Long> findVersionById(@Param("id") Long id);
+
+    /**
+     * Count the activities of a project per status, with their date bounds, in a single GROUP BY query.
+     *
+     * @param projectId the id of the project.
+     * @return one row per status of the project, a single row without status if it has no activities,
+     * or no rows if the project does not exist.
+     */
+    @Query(
+        "select new com.projectmanagement.repository.projection.ActivityStatusCount(" +
+        "p.id, a.status, count(a), min(a.startDate), max(a.startDate), min(a.endDate), max(a.endDate)) " +
+        "from Project p left join p.activities a where p.id = :projectId group by p.id, a.status"
+    )
+    List<ActivityStatusCount> countByStatusForProject(@Param("projectId") Long projectId);
+
+    /**
+     * Count some activities of a project per status, with their date bounds, in a single GROUP BY query.
+     *
+     * @param projectId the id of the project.
+     * @param ids the ids of the activities.
+     * @return one row per status of the activities found.
+     */
+    @Query(
+        "select new com.projectmanagement.repository.projection.ActivityStatusCount(" +
+        "a.project.id, a.status, count(a), min(a.startDate), max(a.startDate), min(a.endDate), max(a.endDate)) " +
+        "from Activity a where a.project.id = :projectId and a.id in :ids group by a.project.id, a.status"
+    )
+    List<ActivityStatusCount> countByStatusForProjectAndIdIn(@Param("projectId") Long projectId, @Param("ids") Collection<Long> ids);
+
+    /**
+     * Count the activities of the projects of a client per project and status, in a single GROUP BY query.
+     *
+     * @param clientId the id of the client.
+     * @return the rows of each project, ordered by project id.
+     */
+    @Query(
+        "select new com.projectmanagement.repository.projection.ActivityStatusCount(" +
+        "p.id, a.status, count(a), min(a.startDate), max(a.startDate), min(a.endDate), max(a.endDate)) " +
+        "from Project p left join p.activities a where p.client.id = :clientId group by p.id, a.status order by p.id"
+    )
+    List<ActivityStatusCount> countByStatusForClient(@Param("clientId") Long clientId);
+}
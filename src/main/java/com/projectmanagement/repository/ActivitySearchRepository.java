@@ -0,0 +1,24 @@
+package com.projectmanagement.repository;
+
+import com.projectmanagement.domain.Activity;
+import com.projectmanagement.repository.projection.ActivitySummary;
+import java.time.Instant;
+import java.util.List;
+import org.springframework.data.jpa.domain.Specification;
+
+/**
+ * Filtered keyset listing of activities as summaries.
+ */
+public interface ActivitySearchRepository {
+    /**
+     * Keyset (seek) query: the activities matching some filters that come after a position, in start date
+     * then id order, selected directly into summaries.
+     *
+     * @param specification the filters, may be {@code null}.
+     * @param startDate the start date of the last activity of the previous page, {@code null} for the first page.
+     * @param id the id of the last activity of the previous page, ignored for the first page.
+     * @param limit the maximum number of rows to fetch.
+     * @return the list of summaries.
+     */
+    List<ActivitySummary> findSummariesAfter(Specification<Activity> specification, Instant startDate, Long id, int limit);
+}
@@ -0,0 +1,58 @@
+package com.projectmanagement.repository;
+
+import com.projectmanagement.domain.Activity;
+import com.projectmanagement.repository.projection.ActivitySummary;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Path;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import org.springframework.data.jpa.domain.Specification;
+
+/**
+ * Implementation of {@link ActivitySearchRepository}, mixed into {@link ActivityRepository} by Spring Data.
+ */
+class ActivitySearchRepositoryImpl implements ActivitySearchRepository {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public List<ActivitySummary> findSummariesAfter(Specification<Activity> specification, Instant startDate, Long id, int limit) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<ActivitySummary> query = cb.createQuery(ActivitySummary.class);
+        Root<Activity> root = query.from(Activity.class);
+        Path<Instant> rootStartDate = root.get("startDate");
+        Path<Long> rootId = root.get("id");
+        query.select(
+            cb.construct(
+                ActivitySummary.class,
+                rootId,
+                root.get("description"),
+                root.get("status"),
+                rootStartDate,
+                root.get("endDate"),
+                root.get("project").get("id")
+            )
+        );
+
+        List<Predicate> predicates = new ArrayList<>();
+        Predicate filters = specification == null ? null : specification.toPredicate(root, query, cb);
+        if (filters != null) {
+            predicates.add(filters);
+        }
+        if (startDate != null) {
+            predicates.add(
+                cb.or(cb.greaterThan(rootStartDate, startDate), cb.and(cb.equal(rootStartDate, startDate), cb.greaterThan(rootId, id)))
+            );
+        }
+        query.where(predicates.toArray(Predicate[]::new));
+        query.orderBy(cb.asc(rootStartDate), cb.asc(rootId));
+        return entityManager.createQuery(query).setMaxResults(limit).getResultList();
+    }
+}
@@ -0,0 +1,45 @@
+package com.projectmanagement.repository;
+
+import com.projectmanagement.domain.Activity;
+import com.projectmanagement.domain.enumeration.Status;
+import java.time.Instant;
+import org.springframework.data.jpa.domain.Specification;
+
+/**
+ * Filters for {@link Activity} queries.
+ * <p>
+ * Each factory returns {@code null} when its argument is {@code null}, so optional filters can be combined
+ * with {@link Specification#where(Specification)} and {@code and} without special cases.
+ */
+public final class ActivitySpecifications {
+
+    private ActivitySpecifications() {}
+
+    public static Specification<Activity> hasProject(Long projectId) {
+        return projectId == null ? null : (root, query, cb) -> cb.equal(root.get("project").get("id"), projectId);
+    }
+
+    public static Specification<Activity> hasStatus(Status status) {
+        return status == null ? null : (root, query, cb) -> cb.equal(root.get("status"), status);
+    }
+
+    /**
+     * Activities starting at or after an instant.
+     *
+     * @param from the inclusive lower bound.
+     * @return the specification, or {@code null} if {@code from} is {@code null}.
+     */
+    public static Specification<Activity> startsFrom(Instant from) {
+        return from == null ? null : (root, query, cb) -> cb.greaterThanOrEqualTo(root.get("startDate"), from);
+    }
+
+    /**
+     * Activities starting before an instant.
+     *
+     * @param to the exclusive upper bound.
+     * @return the specification, or {@code null} if {@code to} is {@code null}.
+     */
+    public static Specification<Activity> startsBefore(Instant to) {
+        return to == null ? null : (root, query, cb) -> cb.lessThan(root.get("startDate"), to);
+    }
+}
@@ -1,7 +1,16 @@
 package com.projectmanagement.repository;
 
 import com.projectmanagement.domain.Client;
+import com.projectmanagement.repository.projection.ClientSummary;
+import jakarta.persistence.QueryHint;
+import java.util.List;
+import java.util.Optional;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.*;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 /**
@@ -9,4 +18,52 @@ import org.springframework.stereotype.Repository;
  */
 @SuppressWarnings("unused")
 @Repository
-public interface ClientRepository extends JpaRepository<Client, Long> {}
+public interface ClientRepository extends JpaRepository<Client, Long> {
+    /**
+     * Keyset (seek) query: the clients with an id greater than {@code id}, in id order.
+     * Results are kept in the query cache until the next write to the client table.
+     *
+     * @param id the id of the last client of the previous page, {@code 0} for the first page.
+     * @param limit the maximum number of rows to fetch.
+     * @return the list of summaries.
+     */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
+    @Query("select new com.projectmanagement.repository.projection.ClientSummary(c.id, c.name, c.email, c.phone) from Client c where c.id > :id order by c.id")
+    List<ClientSummary> findSummariesAfter(@Param("id") Long id, Limit limit);
+
+    /**
+     * Get a slice of clients as summaries, without running a count query.
+     * Results are kept in the query cache until the next write to the client table.
+     *
+     * @param pageable the pagination information.
+     * @return the slice of summaries.
+     */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
+    @Query("select new com.projectmanagement.repository.projection.ClientSummary(c.id, c.name, c.email, c.phone) from Client c")
+    Slice<ClientSummary> findAllSummariesBy(Pageable pageable);
+
+    /**
+     * Get the version of a client, without loading it.
+     *
+     * @param id the id of the entity.
+     * @return the version, or empty if the entity does not exist.
+     */
+    @Query("select c.version from Client c where c.id = :id")
+    Optional<Long> findVersionById(@Param("id") Long id);
+
+    /**
+     * Get the clients whose name or email contains a text, those whose name starts with it first.
+     * On PostgreSQL both conditions are served by the trigram indexes on {@code lower(name)} and {@code lower(email)}.
+     *
+     * @param contains the lower-case {@code LIKE} pattern matching the text anywhere, escaped with {@code \}.
+     * @param startsWith the lower-case {@code LIKE} pattern matching the text at the start, escaped with {@code \}.
+     * @param limit the maximum number of rows to fetch.
+     * @return the list of summaries.
+     */
+    @Query(
+        "select new com.projectmanagement.repository.projection.ClientSummary(c.id, c.name, c.email, c.phone) from Client c " +
+        "where lower(c.name) like :contains escape '\\' or lower(c.email) like :contains escape '\\' " +
+        "order by case when lower(c.name) like :startsWith escape '\\' then 0 else 1 end, c.name, c.id"
+    )
+    List<ClientSummary> findSummariesMatching(@Param("contains") String contains, @Param("startsWith") String startsWith, Limit limit);
+}
@@ -0,0 +1,135 @@
+package com.projectmanagement.repository;
+
+import com.projectmanagement.domain.ClientRollup;
+import com.projectmanagement.repository.projection.StatusCount;
+import jakarta.persistence.LockModeType;
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+/**
+ * Spring Data JPA repository for the {@link ClientRollup} entity, with the aggregates it is computed from.
+ */
+@Repository
+public interface ClientRollupRepository extends JpaRepository<ClientRollup, Long> {
+    /**
+     * Get the rollup of a client, locking its row until the end of the transaction so concurrent
+     * refreshes of the same client run one after the other and each sees the previous one's writes.
+     *
+     * @param clientId the id of the client.
+     * @return the rollup, or empty if it has not been created yet.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select r from ClientRollup r where r.clientId = :clientId")
+    Optional<ClientRollup> findForUpdate(@Param("clientId") Long clientId);
+
+    /**
+     * Add to the counts of the rollup of a client, locking its row until the end of the transaction.
+     *
+     * @param clientId the id of the client.
+     * @param projectsOpen the change of the number of open projects.
+     * @param projectsInProgress the change of the number of projects in progress.
+     * @param projectsCompleted the change of the number of completed projects.
+     * @param projectsPending the change of the number of pending projects.
+     * @param activitiesOpen the change of the number of open activities.
+     * @param activitiesInProgress the change of the number of activities in progress.
+     * @param activitiesCompleted the change of the number of completed activities.
+     * @param activitiesPending the change of the number of pending activities.
+     * @param refreshedAt the time of the change.
+     * @return the number of rollups updated, {@code 0} if the client has none yet.
+     */
+    @Modifying
+    @Query(
+        "update ClientRollup r set " +
+        "r.projectsOpen = r.projectsOpen + :projectsOpen, " +
+        "r.projectsInProgress = r.projectsInProgress + :projectsInProgress, " +
+        "r.projectsCompleted = r.projectsCompleted + :projectsCompleted, " +
+        "r.projectsPending = r.projectsPending + :projectsPending, " +
+        "r.activitiesOpen = r.activitiesOpen + :activitiesOpen, " +
+        "r.activitiesInProgress = r.activitiesInProgress + :activitiesInProgress, " +
+        "r.activitiesCompleted = r.activitiesCompleted + :activitiesCompleted, " +
+        "r.activitiesPending = r.activitiesPending + :activitiesPending, " +
+        "r.refreshedAt = :refreshedAt " +
+        "where r.clientId = :clientId"
+    )
+    int addCounts(
+        @Param("clientId") Long clientId,
+        @Param("projectsOpen") long projectsOpen,
+        @Param("projectsInProgress") long projectsInProgress,
+        @Param("projectsCompleted") long projectsCompleted,
+        @Param("projectsPending") long projectsPending,
+        @Param("activitiesOpen") long activitiesOpen,
+        @Param("activitiesInProgress") long activitiesInProgress,
+        @Param("activitiesCompleted") long activitiesCompleted,
+        @Param("activitiesPending") long activitiesPending,
+        @Param("refreshedAt") Instant refreshedAt
+    );
+
+    /**
+     * Move the last activity date of a client forward to a new activity date, if it is later.
+     *
+     * @param clientId the id of the client.
+     * @param date the start date of an added activity.
+     * @return the number of rollups updated.
+     */
+    @Modifying
+    @Query(
+        "update ClientRollup r set r.lastActivityDate = :date " +
+        "where r.clientId = :clientId and (r.lastActivityDate is null or r.lastActivityDate < :date)"
+    )
+    int advanceLastActivityDate(@Param("clientId") Long clientId, @Param("date") Instant date);
+
+    /**
+     * Recompute the last activity date of a client if a removed activity date may have been the last one.
+     *
+     * @param clientId the id of the client.
+     * @param date the start date of a removed activity.
+     * @return the number of rollups updated.
+     */
+    @Modifying
+    @Query(
+        "update ClientRollup r set r.lastActivityDate = " +
+        "(select max(a.startDate) from Activity a where a.project.client.id = :clientId) " +
+        "where r.clientId = :clientId and r.lastActivityDate <= :date"
+    )
+    int recomputeLastActivityDate(@Param("clientId") Long clientId, @Param("date") Instant date);
+
+    /**
+     * Count the projects of a client by status.
+     *
+     * @param clientId the id of the client.
+     * @return one row per status with at least one project.
+     */
+    @Query(
+        "select new com.projectmanagement.repository.projection.StatusCount(p.status, count(p)) " +
+        "from Project p where p.client.id = :clientId group by p.status"
+    )
+    List<StatusCount> countProjectsByStatus(@Param("clientId") Long clientId);
+
+    /**
+     * Count the activities of the projects of a client by status.
+     *
+     * @param clientId the id of the client.
+     * @return one row per status with at least one activity.
+     */
+    @Query(
+        "select new com.projectmanagement.repository.projection.StatusCount(a.status, count(a)) " +
+        "from Activity a where a.project.client.id = :clientId group by a.status"
+    )
+    List<StatusCount> countActivitiesByStatus(@Param("clientId") Long clientId);
+
+    /**
+     * Get the latest start date of the activities of the projects of a client.
+     *
+     * @param clientId the id of the client.
+     * @return the latest start date, or {@code null} if the client has no activities.
+     */
+    @Query("select max(a.startDate) from Activity a where a.project.client.id = :clientId")
+    Instant findLastActivityDate(@Param("clientId") Long clientId);
+}
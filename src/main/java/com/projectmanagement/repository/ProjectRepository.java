@@ -1,7 +1,16 @@
 package com.projectmanagement.repository;
 
 import com.projectmanagement.domain.Project;
+import com.projectmanagement.repository.projection.ProjectClient;
+import com.projectmanagement.repository.projection.ProjectSummary;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.*;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 /**
@@ -9,4 +18,67 @@ import org.springframework.stereotype.Repository;
  */
 @SuppressWarnings("unused")
 @Repository
-public interface ProjectRepository extends JpaRepository<Project, Long> {}
+public interface ProjectRepository extends JpaRepository<Project, Long>, ProjectVersionRepository {
+    /**
+     * Keyset (seek) query: the projects with an id greater than {@code id}, in id order.
+     *
+     * @param id the id of the last project of the previous page, {@code 0} for the first page.
+     * @param limit the maximum number of rows to fetch.
+     * @return the list of summaries.
+     */
+    @Query("select new com.projectmanagement.repository.projection.ProjectSummary(p.id, p.name, p.description, p.status, p.startDate, p.endDate, p.client.id) from Project p where p.id > :id order by p.id")
+    List<ProjectSummary> findSummariesAfter(@Param("id") Long id, Limit limit);
+
+    /**
+     * Get a slice of projects as summaries, without running a count query.
+     *
+     * @param pageable the pagination information.
+     * @return the slice of summaries.
+     */
+    @Query("select new com.projectmanagement.repository.projection.ProjectSummary(p.id, p.name, p.description, p.status, p.startDate, p.endDate, p.client.id) from Project p")
+    Slice<ProjectSummary> findAllSummariesBy(Pageable pageable);
+
+    /**
+     * Get a slice of projects without running a count query.
+     *
+     * @param pageable the pagination information.
+     * @return the slice of entities.
+     */
+    Slice<Project> findAllBy(Pageable pageable);
+
+    /**
+     * Get a slice of projects with their client fetched in the same query.
+     *
+     * @param pageable the pagination information.
+     * @return the slice of entities.
+     */
+    @EntityGraph(attributePaths = "client")
+    Slice<Project> findAllWithClientBy(Pageable pageable);
+
+    /**
+     * Initialize the activities of already loaded projects with a single query.
+     *
+     * @param projects the projects, managed by the current persistence context.
+     * @return the same projects, with their activities initialized.
+     */
+    @Query("select p from Project p left join fetch p.activities where p in :projects")
+    List<Project> fetchActivities(@Param("projects") Collection<Project> projects);
+
+    /**
+     * Get the version of a project, without loading it.
+     *
+     * @param id the id of the entity.
+     * @return the version, or empty if the entity does not exist.
+     */
+    @Query("select p.version from Project p where p.id = :id")
+    Optional<Long> findVersionById(@Param("id") Long id);
+
+    /**
+     * Get the clients of some projects.
+     *
+     * @param ids the ids of the projects.
+     * @return the client of each existing project.
+     */
+    @Query("select new com.projectmanagement.repository.projection.ProjectClient(p.id, p.client.id) from Project p where p.id in :ids")
+    List<ProjectClient> findClientsByIdIn(@Param("ids") Collection<Long> ids);
+}
@@ -0,0 +1,21 @@
+package com.projectmanagement.repository;
+
+import java.util.Collection;
+
+/**
+ * Version increments of projects whose activities changed.
+ */
+public interface ProjectVersionRepository {
+    /**
+     * Increment the versions of some projects, locking their rows until the end of the transaction.
+     * <p>
+     * Activities are the inverse side of their association, so writing them does not change the version of their
+     * project, which is the entity tag of the project and the activities returned with it. Each project is locked
+     * with {@code PESSIMISTIC_FORCE_INCREMENT}, so concurrent writers of the activities of a project wait for each
+     * other instead of failing, and is evicted from the second-level cache once the transaction commits. Projects
+     * that do not exist are skipped.
+     *
+     * @param ids the ids of the projects.
+     */
+    void incrementVersions(Collection<Long> ids);
+}
@@ -0,0 +1,44 @@
+package com.projectmanagement.repository;
+
+import com.projectmanagement.domain.Project;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.PersistenceContext;
+import java.util.Collection;
+import java.util.Set;
+import java.util.TreeSet;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Implementation of {@link ProjectVersionRepository}, mixed into {@link ProjectRepository} by Spring Data.
+ */
+class ProjectVersionRepositoryImpl implements ProjectVersionRepository {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public void incrementVersions(Collection<Long> ids) {
+        // In id order, so concurrent writers lock the rows of the same projects in the same order
+        Set<Long> incremented = new TreeSet<>(ids);
+        for (Long id : incremented) {
+            Project project = entityManager.find(Project.class, id);
+            if (project != null) {
+                entityManager.lock(project, LockModeType.PESSIMISTIC_FORCE_INCREMENT);
+            }
+        }
+        if (!incremented.isEmpty() && TransactionSynchronizationManager.isSynchronizationActive()) {
+            // The lock only invalidates the cached projects until the increment, a read before the commit
+            // could cache them again with their old version
+            TransactionSynchronizationManager.registerSynchronization(
+                new TransactionSynchronization() {
+                    @Override
+                    public void afterCommit() {
+                        incremented.forEach(id -> entityManager.getEntityManagerFactory().getCache().evict(Project.class, id));
+                    }
+                }
+            );
+        }
+    }
+}
@@ -0,0 +1,92 @@
+package com.projectmanagement.repository;
+
+import com.projectmanagement.config.ApplicationProperties;
+import java.sql.DatabaseMetaData;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.LongSupplier;
+import javax.sql.DataSource;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.support.JdbcUtils;
+import org.springframework.jdbc.support.MetaDataAccessException;
+import org.springframework.stereotype.Repository;
+
+/**
+ * Approximate row counts for list endpoints that opt into a total.
+ * <p>
+ * On PostgreSQL the estimate is read from {@code pg_class.reltuples}, which is maintained by
+ * autovacuum/ANALYZE and costs a single catalog lookup. A partitioned table has no estimate of its
+ * own, so the estimates of its analyzed partitions are summed. On other databases, or when the table
+ * has never been analyzed, the exact count is used instead. Either value is kept for a short TTL
+ * so polling clients do not hit the database on every page.
+ */
+@Repository
+public class RowCountEstimator {
+
+    private static final Logger LOG = LoggerFactory.getLogger(RowCountEstimator.class);
+
+    private final boolean postgres;
+
+    private final Duration ttl;
+
+    private final Map<String, CachedCount> cache = new ConcurrentHashMap<>();
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public RowCountEstimator(DataSource dataSource, ApplicationProperties applicationProperties) {
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+        this.postgres = isPostgres(dataSource);
+        this.ttl = applicationProperties.getCountEstimate().getTtl();
+    }
+
+    /**
+     * Estimate the number of rows of a table.
+     *
+     * @param table the table name.
+     * @param exactCount the exact count to use when no estimate is available.
+     * @return the estimated number of rows.
+     */
+    public long estimate(String table, LongSupplier exactCount) {
+        long now = System.nanoTime();
+        CachedCount cached = cache.get(table);
+        if (cached != null && now - cached.timestamp() < ttl.toNanos()) {
+            return cached.count();
+        }
+        long count = postgres ? reltuples(table) : -1;
+        if (count < 0) {
+            count = exactCount.getAsLong();
+        }
+        cache.put(table, new CachedCount(count, now));
+        return count;
+    }
+
+    private long reltuples(String table) {
+        // reltuples is -1 for tables that have never been vacuumed or analyzed, and always for a partitioned table;
+        // partitions never analyzed are skipped, they are mostly the empty months created ahead
+        List<Long> result = jdbcTemplate.queryForList(
+            "select cast(case when c.relkind = 'p' then (" +
+            "select sum(p.reltuples) from pg_inherits i join pg_class p on p.oid = i.inhrelid " +
+            "where i.inhparent = c.oid and p.reltuples >= 0" +
+            ") else c.reltuples end as bigint) from pg_class c where c.oid = to_regclass(?)",
+            Long.class,
+            table
+        );
+        return result.isEmpty() || result.get(0) == null ? -1 : result.get(0);
+    }
+
+    private static boolean isPostgres(DataSource dataSource) {
+        try {
+            String product = JdbcUtils.extractDatabaseMetaData(dataSource, DatabaseMetaData::getDatabaseProductName);
+            return "PostgreSQL".equals(product);
+        } catch (MetaDataAccessException e) {
+            LOG.warn("Could not determine the database product, row counts will be exact", e);
+            return false;
+        }
+    }
+
+    private record CachedCount(long count, long timestamp) {}
+}
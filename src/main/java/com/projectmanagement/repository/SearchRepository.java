@@ -0,0 +1,126 @@
+package com.projectmanagement.repository;
+
+import com.projectmanagement.repository.projection.SearchHit;
+import java.sql.DatabaseMetaData;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import javax.sql.DataSource;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.support.JdbcUtils;
+import org.springframework.jdbc.support.MetaDataAccessException;
+import org.springframework.stereotype.Repository;
+
+/**
+ * Keyword search over project names and descriptions and activity descriptions.
+ * <p>
+ * On PostgreSQL the query is matched against the {@code search_vector} columns through their GIN indexes and
+ * the hits are ranked with {@code ts_rank}, project names weighing more than descriptions. Other databases
+ * fall back to a case-insensitive {@code LIKE} on every word, with the same rank for all hits.
+ * Either way the hits are ordered by rank descending, then type and id, so pages can seek after the last hit.
+ */
+@Repository
+public class SearchRepository {
+
+    private static final Logger LOG = LoggerFactory.getLogger(SearchRepository.class);
+
+    private static final String POSTGRES_HITS =
+        "select 'PROJECT' as type, p.id, p.id as project_id, p.name as text, ts_rank(p.search_vector, q.query) as rank " +
+        "from project p, websearch_to_tsquery('simple', :query) q(query) where p.search_vector @@ q.query " +
+        "union all " +
+        "select 'ACTIVITY', a.id, a.project_id, a.description, ts_rank(a.search_vector, q.query) " +
+        "from activity a, websearch_to_tsquery('simple', :query) q(query) where a.search_vector @@ q.query";
+
+    private static final RowMapper<SearchHit> HIT_MAPPER = (rs, rowNum) ->
+        new SearchHit(
+            SearchHit.Type.valueOf(rs.getString("type")),
+            rs.getLong("id"),
+            rs.getLong("project_id"),
+            rs.getString("text"),
+            rs.getFloat("rank")
+        );
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+
+    private final boolean postgres;
+
+    public SearchRepository(NamedParameterJdbcTemplate jdbcTemplate, DataSource dataSource) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.postgres = isPostgres(dataSource);
+    }
+
+    /**
+     * Search the projects and activities matching a query.
+     *
+     * @param query the words to search, in web search syntax on PostgreSQL.
+     * @param limit the maximum number of hits.
+     * @return the hits, by rank descending, then type and id.
+     */
+    public List<SearchHit> search(String query, int limit) {
+        return search(query, new MapSqlParameterSource("limit", limit), "");
+    }
+
+    /**
+     * Search the projects and activities matching a query, after the last hit of a previous page.
+     *
+     * @param query the words to search, in web search syntax on PostgreSQL.
+     * @param rank the rank of the last hit.
+     * @param type the type of the last hit.
+     * @param id the id of the last hit.
+     * @param limit the maximum number of hits.
+     * @return the hits following the last hit, by rank descending, then type and id.
+     */
+    public List<SearchHit> searchAfter(String query, float rank, SearchHit.Type type, long id, int limit) {
+        MapSqlParameterSource parameters = new MapSqlParameterSource("limit", limit)
+            .addValue("rank", rank)
+            .addValue("type", type.name())
+            .addValue("id", id);
+        return search(query, parameters, " where rank < :rank or (rank = :rank and (type > :type or (type = :type and id > :id)))");
+    }
+
+    private List<SearchHit> search(String query, MapSqlParameterSource parameters, String seek) {
+        String hits = postgres ? postgresHits(query, parameters) : likeHits(query, parameters);
+        String sql = "select type, id, project_id, text, rank from (" + hits + ") hits" + seek + " order by rank desc, type, id limit :limit";
+        return jdbcTemplate.query(sql, parameters, HIT_MAPPER);
+    }
+
+    private static String postgresHits(String query, MapSqlParameterSource parameters) {
+        parameters.addValue("query", query);
+        return POSTGRES_HITS;
+    }
+
+    private static String likeHits(String query, MapSqlParameterSource parameters) {
+        List<String> projectConditions = new ArrayList<>();
+        List<String> activityConditions = new ArrayList<>();
+        String[] words = query.trim().toLowerCase(Locale.ROOT).split("\\s+");
+        for (int i = 0; i < words.length; i++) {
+            String parameter = "word" + i;
+            parameters.addValue(parameter, "%" + words[i].replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_") + "%");
+            projectConditions.add(
+                "(lower(p.name) like :" + parameter + " escape '\\' or lower(p.description) like :" + parameter + " escape '\\')"
+            );
+            activityConditions.add("lower(a.description) like :" + parameter + " escape '\\'");
+        }
+        return (
+            "select 'PROJECT' as type, p.id, p.id as project_id, p.name as text, cast(1 as real) as rank from project p where " +
+            String.join(" and ", projectConditions) +
+            " union all " +
+            "select 'ACTIVITY', a.id, a.project_id, a.description, cast(1 as real) from activity a where " +
+            String.join(" and ", activityConditions)
+        );
+    }
+
+    private static boolean isPostgres(DataSource dataSource) {
+        try {
+            String product = JdbcUtils.extractDatabaseMetaData(dataSource, DatabaseMetaData::getDatabaseProductName);
+            return "PostgreSQL".equals(product);
+        } catch (MetaDataAccessException e) {
+            LOG.warn("Could not determine the database product, search will not use full-text indexes", e);
+            return false;
+        }
+    }
+}
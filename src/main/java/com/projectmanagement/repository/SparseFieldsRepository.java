@@ -0,0 +1,97 @@
+package com.projectmanagement.repository;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.Tuple;
+import jakarta.persistence.TypedQuery;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Order;
+import jakarta.persistence.criteria.Path;
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.criteria.Selection;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.data.domain.Sort;
+import org.springframework.stereotype.Repository;
+
+/**
+ * Listings that select only the fields requested by the client ("sparse fieldsets").
+ * <p>
+ * Each requested field is mapped to an attribute path of the entity, such as {@code clientId} to
+ * {@code client.id}, and only those columns are selected, as a tuple query; every row is returned
+ * as a map from field name to value, in the requested order, so only those fields are serialized.
+ */
+@Repository
+public class SparseFieldsRepository {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    /**
+     * Get a slice of entities with only some fields, without running a count query.
+     *
+     * @param entityType the type of the entities.
+     * @param attributes the fields that may be requested or sorted on, with their attribute paths.
+     * @param fields the requested fields.
+     * @param pageable the pagination information; unsorted slices are sorted by id.
+     * @param <T> the type of the entities.
+     * @return the slice of rows.
+     * @throws IllegalArgumentException if no field, or a field or sort property that is not in {@code attributes}, is requested.
+     */
+    public <T> Slice<Map<String, Object>> findSlice(Class<T> entityType, Map<String, String> attributes, List<String> fields, Pageable pageable) {
+        List<String> selected = fields.stream().map(String::strip).filter(field -> !field.isEmpty()).distinct().toList();
+        if (selected.isEmpty()) {
+            throw new IllegalArgumentException("No field requested");
+        }
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Tuple> query = cb.createTupleQuery();
+        Root<T> root = query.from(entityType);
+        List<Selection<?>> selections = new ArrayList<>(selected.size());
+        for (String field : selected) {
+            selections.add(path(root, attributes, field).alias(field));
+        }
+        query.multiselect(selections);
+
+        List<Order> orders = new ArrayList<>();
+        for (Sort.Order order : pageable.getSort()) {
+            Path<?> path = path(root, attributes, order.getProperty());
+            orders.add(order.isAscending() ? cb.asc(path) : cb.desc(path));
+        }
+        // Ties are broken by id, so consecutive slices neither repeat nor skip rows
+        orders.add(cb.asc(root.get("id")));
+        query.orderBy(orders);
+
+        TypedQuery<Tuple> typedQuery = entityManager.createQuery(query);
+        if (pageable.isPaged()) {
+            typedQuery.setFirstResult((int) pageable.getOffset()).setMaxResults(pageable.getPageSize() + 1);
+        }
+        List<Map<String, Object>> rows = new ArrayList<>();
+        for (Tuple tuple : typedQuery.getResultList()) {
+            Map<String, Object> row = new LinkedHashMap<>();
+            for (String field : selected) {
+                row.put(field, tuple.get(field));
+            }
+            rows.add(row);
+        }
+        boolean hasNext = pageable.isPaged() && rows.size() > pageable.getPageSize();
+        return new SliceImpl<>(hasNext ? rows.subList(0, pageable.getPageSize()) : rows, pageable, hasNext);
+    }
+
+    private static Path<?> path(Root<?> root, Map<String, String> attributes, String field) {
+        String attributePath = attributes.get(field);
+        if (attributePath == null) {
+            throw new IllegalArgumentException("Unknown field : " + field);
+        }
+        Path<?> path = root;
+        for (String attribute : attributePath.split("\\.")) {
+            path = path.get(attribute);
+        }
+        return path;
+    }
+}
@@ -0,0 +1,19 @@
+package com.projectmanagement.repository.projection;
+
+import com.projectmanagement.domain.enumeration.Status;
+import java.time.Instant;
+
+/**
+ * The activities of a project with one status, aggregated in the database.
+ * <p>
+ * A project without activities is reported as a single row with a {@code null} status and a count of zero.
+ */
+public record ActivityStatusCount(
+    Long projectId,
+    Status status,
+    long count,
+    Instant earliestStartDate,
+    Instant latestStartDate,
+    Instant earliestEndDate,
+    Instant latestEndDate
+) {}
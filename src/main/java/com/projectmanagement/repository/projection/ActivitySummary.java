@@ -0,0 +1,34 @@
+package com.projectmanagement.repository.projection;
+
+import com.projectmanagement.domain.Activity;
+import com.projectmanagement.domain.enumeration.Status;
+import java.time.Instant;
+
+/**
+ * Read-only view of an {@link com.projectmanagement.domain.Activity} for list endpoints.
+ */
+public record ActivitySummary(
+    Long id,
+    String description,
+    Status status,
+    Instant startDate,
+    Instant endDate,
+    Long projectId
+) {
+    /**
+     * Build the summary of a loaded activity, without initializing its project.
+     *
+     * @param activity the activity.
+     * @return the summary.
+     */
+    public static ActivitySummary of(Activity activity) {
+        return new ActivitySummary(
+            activity.getId(),
+            activity.getDescription(),
+            activity.getStatus(),
+            activity.getStartDate(),
+            activity.getEndDate(),
+            activity.getProject() != null ? activity.getProject().getId() : null
+        );
+    }
+}
@@ -0,0 +1,6 @@
+package com.projectmanagement.repository.projection;
+
+/**
+ * Read-only view of a {@link com.projectmanagement.domain.Client} for list endpoints.
+ */
+public record ClientSummary(Long id, String name, String email, String phone) {}
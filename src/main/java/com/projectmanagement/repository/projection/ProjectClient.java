@@ -0,0 +1,9 @@
+package com.projectmanagement.repository.projection;
+
+/**
+ * The client of a project.
+ *
+ * @param projectId the id of the project.
+ * @param clientId the id of its client.
+ */
+public record ProjectClient(Long projectId, Long clientId) {}
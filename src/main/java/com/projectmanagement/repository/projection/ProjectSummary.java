@@ -0,0 +1,18 @@
+package com.projectmanagement.repository.projection;
+
+import com.projectmanagement.domain.enumeration.Status;
+import java.time.Instant;
+
+/**
+ * Read-only view of a {@link com.projectmanagement.domain.Project} for list endpoints.
+ * Built directly from the query result, it is never managed by the persistence context.
+ */
+public record ProjectSummary(
+    Long id,
+    String name,
+    String description,
+    Status status,
+    Instant startDate,
+    Instant endDate,
+    Long clientId
+) {}
@@ -0,0 +1,17 @@
+package com.projectmanagement.repository.projection;
+
+/**
+ * A project or activity matching a keyword search.
+ *
+ * @param type whether the hit is a project or an activity.
+ * @param id the id of the project or activity.
+ * @param projectId the id of the project, or of the project of the activity.
+ * @param text the name of the project or the description of the activity.
+ * @param rank the relevance of the hit, higher first.
+ */
+public record SearchHit(Type type, Long id, Long projectId, String text, float rank) {
+    public enum Type {
+        ACTIVITY,
+        PROJECT,
+    }
+}
@@ -0,0 +1,11 @@
+package com.projectmanagement.repository.projection;
+
+import com.projectmanagement.domain.enumeration.Status;
+
+/**
+ * The number of entities of a status.
+ *
+ * @param status the status.
+ * @param count the number of entities with that status.
+ */
+public record StatusCount(Status status, long count) {}
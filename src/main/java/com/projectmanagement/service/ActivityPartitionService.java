@@ -0,0 +1,77 @@
+package com.projectmanagement.service;
+
+import com.projectmanagement.config.ApplicationProperties;
+import java.sql.DatabaseMetaData;
+import javax.sql.DataSource;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.support.JdbcUtils;
+import org.springframework.jdbc.support.MetaDataAccessException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+/**
+ * Creates the monthly partitions of the {@code activity} table ahead of time.
+ * <p>
+ * On PostgreSQL the table is range-partitioned by {@code start_date}; the partitions of the current month
+ * and of the next {@code application.partitions.months-ahead} months are created at startup and then
+ * daily, so new activities never land in the default partition. Other databases are not partitioned.
+ */
+@Service
+public class ActivityPartitionService {
+
+    private static final Logger LOG = LoggerFactory.getLogger(ActivityPartitionService.class);
+
+    private final JdbcTemplate jdbcTemplate;
+
+    private final boolean postgres;
+
+    private final int monthsAhead;
+
+    public ActivityPartitionService(JdbcTemplate jdbcTemplate, DataSource dataSource, ApplicationProperties applicationProperties) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.postgres = isPostgres(dataSource);
+        this.monthsAhead = applicationProperties.getPartitions().getMonthsAhead();
+    }
+
+    /**
+     * Create the missing monthly partitions at startup.
+     * <p>
+     * A failure is logged rather than propagated: the application can serve requests without the new
+     * partitions, whose activities go to the default partition until the next scheduled run.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void createPartitionsOnStartup() {
+        try {
+            createPartitions();
+        } catch (DataAccessException e) {
+            LOG.error("Could not create Activity partitions at startup, they will be retried by the scheduled job", e);
+        }
+    }
+
+    /**
+     * Create the missing monthly partitions, moving the activities of their months out of the default partition.
+     */
+    @Scheduled(cron = "${application.partitions.cron:0 0 3 * * *}")
+    public void createPartitions() {
+        if (!postgres) {
+            return;
+        }
+        LOG.debug("Request to create Activity partitions for the next {} months", monthsAhead);
+        jdbcTemplate.queryForRowSet("select create_activity_partitions(?)", monthsAhead);
+    }
+
+    private static boolean isPostgres(DataSource dataSource) {
+        try {
+            String product = JdbcUtils.extractDatabaseMetaData(dataSource, DatabaseMetaData::getDatabaseProductName);
+            return "PostgreSQL".equals(product);
+        } catch (MetaDataAccessException e) {
+            LOG.warn("Could not determine the database product, partitions will not be created", e);
+            return false;
+        }
+    }
+}
@@ -1,13 +1,49 @@
 package com.projectmanagement.service;
 
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
 import com.projectmanagement.domain.Activity;
+import com.projectmanagement.domain.Project;
+import com.projectmanagement.domain.enumeration.Status;
 import com.projectmanagement.repository.ActivityRepository;
+import com.projectmanagement.repository.ActivitySpecifications;
+import com.projectmanagement.repository.ProjectRepository;
+import com.projectmanagement.repository.RowCountEstimator;
+import com.projectmanagement.repository.SparseFieldsRepository;
+import com.projectmanagement.repository.projection.ActivitySummary;
+import com.projectmanagement.service.dto.ActivityBatchResult;
+import com.projectmanagement.service.dto.ActivityCriteria;
+import com.projectmanagement.service.dto.ActivitySearchCursor;
+import com.projectmanagement.service.dto.CursorPage;
+import com.projectmanagement.service.dto.ProjectStats;
+import io.micrometer.core.annotation.Timed;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
 /**
@@ -15,14 +51,63 @@ import org.springframework.transaction.annotation.Transactional;
  */
 @Service
 @Transactional
+@Timed(value = "service.method", histogram = true)
 public class ActivityService {
 
+    public static final String PROJECT_STATS_CACHE = "project-stats";
+
+    public static final String CLIENT_PROJECT_STATS_CACHE = "client-project-stats";
+
+    /**
+     * The fields that may be requested with {@link #findSlice(List, Pageable)}, with their attribute paths.
+     */
+    public static final Map<String, String> FIELDS = Map.of(
+        "id", "id",
+        "version", "version",
+        "description", "description",
+        "status", "status",
+        "startDate", "startDate",
+        "endDate", "endDate",
+        "projectId", "project.id"
+    );
+
+    /**
+     * The fields that may be set by {@link #patch(Long, JsonNode, Long)}.
+     */
+    public static final Set<String> PATCHABLE_FIELDS = Set.of("description", "status", "startDate", "endDate");
+
     private static final Logger LOG = LoggerFactory.getLogger(ActivityService.class);
 
+    private static final int STATUS_UPDATE_BATCH_SIZE = 500;
+
+    private static final int EXPORT_PAGE_SIZE = 500;
+
     private final ActivityRepository activityRepository;
 
-    public ActivityService(ActivityRepository activityRepository) {
+    private final ProjectRepository projectRepository;
+
+    private final RowCountEstimator rowCountEstimator;
+
+    private final Validator validator;
+
+    private final ObjectMapper objectMapper;
+
+    private final SparseFieldsRepository sparseFieldsRepository;
+
+    public ActivityService(
+        ActivityRepository activityRepository,
+        ProjectRepository projectRepository,
+        RowCountEstimator rowCountEstimator,
+        Validator validator,
+        ObjectMapper objectMapper,
+        SparseFieldsRepository sparseFieldsRepository
+    ) {
         this.activityRepository = activityRepository;
+        this.projectRepository = projectRepository;
+        this.rowCountEstimator = rowCountEstimator;
+        this.validator = validator;
+        this.objectMapper = objectMapper;
+        this.sparseFieldsRepository = sparseFieldsRepository;
     }
 
     /**
@@ -31,9 +116,80 @@ public class ActivityService {
      * @param activity the entity to save.
      * @return the persisted entity.
      */
+    @EvictProjectStats
     public Activity save(Activity activity) {
         LOG.debug("Request to save Activity : {}", activity);
-        return activityRepository.save(activity);
+        Activity result = activityRepository.save(activity);
+        incrementProjectVersion(result);
+        return result;
+    }
+
+    /**
+     * Create or update a batch of activities of a project.
+     * <p>
+     * Items without an id are created, items with an id update the existing activity. Existing
+     * activities are loaded with a single query and all the writes are flushed together, so with
+     * JDBC batching and pooled ids the batch costs a handful of round trips. Invalid or unknown
+     * items are reported and skipped, they do not fail the rest of the batch; an id of an activity
+     * of another project is reported as not found, activities are never moved between projects.
+     *
+     * @param projectId the id of the project the activities belong to.
+     * @param activities the activities to save.
+     * @return the result of each item, in the order of the batch,
+     * or empty if the project does not exist.
+     */
+    @EvictProjectStats
+    public Optional<List<ActivityBatchResult>> saveAll(Long projectId, List<Activity> activities) {
+        LOG.debug("Request to save {} Activities of Project : {}", activities.size(), projectId);
+        if (!projectRepository.existsById(projectId)) {
+            return Optional.empty();
+        }
+        Project project = projectRepository.getReferenceById(projectId);
+        Set<Long> ids = activities.stream().map(Activity::getId).filter(Objects::nonNull).collect(Collectors.toSet());
+        Map<Long, Activity> existing = ids.isEmpty()
+            ? Map.of()
+            : activityRepository
+                .findAllById(ids)
+                .stream()
+                .filter(current -> projectId.equals(current.getProject().getId()))
+                .collect(Collectors.toMap(Activity::getId, Function.identity()));
+
+        List<ActivityBatchResult> results = new ArrayList<>(activities.size());
+        boolean written = false;
+        for (int index = 0; index < activities.size(); index++) {
+            Activity activity = activities.get(index);
+            Set<ConstraintViolation<Activity>> violations = validator.validate(activity);
+            if (!violations.isEmpty()) {
+                results.add(ActivityBatchResult.invalid(index, activity.getId(), describe(violations)));
+            } else if (activity.getId() == null) {
+                activity.setProject(project);
+                results.add(ActivityBatchResult.created(index, activityRepository.save(activity).getId()));
+                written = true;
+            } else if (existing.containsKey(activity.getId())) {
+                Activity current = existing.get(activity.getId());
+                current.setDescription(activity.getDescription());
+                current.setStatus(activity.getStatus());
+                current.setStartDate(activity.getStartDate());
+                current.setEndDate(activity.getEndDate());
+                results.add(ActivityBatchResult.updated(index, current.getId()));
+                written = true;
+            } else {
+                results.add(ActivityBatchResult.notFound(index, activity.getId()));
+            }
+        }
+        if (written) {
+            projectRepository.incrementVersions(List.of(projectId));
+        }
+        activityRepository.flush();
+        return Optional.of(results);
+    }
+
+    private static String describe(Set<ConstraintViolation<Activity>> violations) {
+        return violations
+            .stream()
+            .map(violation -> violation.getPropertyPath() + " " + violation.getMessage())
+            .sorted()
+            .collect(Collectors.joining(", "));
     }
 
     /**
@@ -42,9 +198,100 @@ public class ActivityService {
      * @param activity the entity to save.
      * @return the persisted entity.
      */
+    @EvictProjectStats
     public Activity update(Activity activity) {
         LOG.debug("Request to update Activity : {}", activity);
-        return activityRepository.save(activity);
+        Activity result = activityRepository.save(activity);
+        incrementProjectVersion(result);
+        return result;
+    }
+
+    /**
+     * Update a activity if it exists, checking and writing in a single transaction.
+     * <p>
+     * The current activity is read through the second-level cache, so when it is cached the statements issued are
+     * the versioned update and the version increment of its project. Its project is left unchanged.
+     *
+     * @param activity the entity to update, with its id.
+     * @return the updated entity, or empty if it does not exist.
+     * @throws ObjectOptimisticLockingFailureException if the given version is not the current one.
+     */
+    @EvictProjectStats
+    public Optional<Activity> updateIfExists(Activity activity) {
+        LOG.debug("Request to update Activity if it exists : {}", activity);
+        return activityRepository.findById(activity.getId()).map(current -> {
+            if (activity.getVersion() != null && !activity.getVersion().equals(current.getVersion())) {
+                throw new ObjectOptimisticLockingFailureException(Activity.class, activity.getId());
+            }
+            current.setDescription(activity.getDescription());
+            current.setStatus(activity.getStatus());
+            current.setStartDate(activity.getStartDate());
+            current.setEndDate(activity.getEndDate());
+            incrementProjectVersion(current);
+            return current;
+        });
+    }
+
+    /**
+     * Apply a JSON Merge Patch to a activity if it exists, checking and writing in a single transaction.
+     * <p>
+     * Only its description, status and dates may be patched. Its project is left unchanged. Only the patched columns are written,
+     * in a versioned update of the activity row, and the version of its project is incremented.
+     *
+     * @param id the id of the entity.
+     * @param patch the merge patch.
+     * @param version the expected version, or {@code null} to patch any version.
+     * @return the patched entity, or empty if it does not exist.
+     * @throws IllegalArgumentException if the patch is invalid or leaves the entity invalid.
+     * @throws ObjectOptimisticLockingFailureException if the expected version is not the current one.
+     */
+    @EvictProjectStats
+    public Optional<Activity> patch(Long id, JsonNode patch, Long version) {
+        LOG.debug("Request to patch Activity : {}, {}", id, patch);
+        return activityRepository.findById(id).map(current -> {
+            if (version != null && !version.equals(current.getVersion())) {
+                throw new ObjectOptimisticLockingFailureException(Activity.class, id);
+            }
+            Activity patched = MergePatch.apply(objectMapper, validator, current, patch, PATCHABLE_FIELDS);
+            incrementProjectVersion(patched);
+            return patched;
+        });
+    }
+
+    /**
+     * Set the status of some activities.
+     * <p>
+     * Used to flush the {@link ActivityStatusQueue}: the activities are loaded by id, at most 500 per query, and
+     * written by dirty checking, so the updates only set the status and version, are sent in JDBC batches, and
+     * only the updated entries of the second-level cache are replaced. Unknown ids or activities already in the
+     * requested status are skipped; the rollup listener marks the clients of the updated ones, and the versions of
+     * their projects are incremented.
+     *
+     * @param statuses the new status of each activity, by id.
+     * @return the number of activities updated.
+     */
+    @EvictProjectStats
+    public int updateStatuses(Map<Long, Status> statuses) {
+        LOG.debug("Request to update the status of {} Activities", statuses.size());
+        List<Long> ids = new ArrayList<>(statuses.keySet());
+        Set<Long> projectIds = new HashSet<>();
+        int updated = 0;
+        for (int from = 0; from < ids.size(); from += STATUS_UPDATE_BATCH_SIZE) {
+            List<Long> batch = ids.subList(from, Math.min(from + STATUS_UPDATE_BATCH_SIZE, ids.size()));
+            for (Activity activity : activityRepository.findAllById(batch)) {
+                Status status = statuses.get(activity.getId());
+                if (status != activity.getStatus()) {
+                    activity.setStatus(status);
+                    projectIds.add(activity.getProject().getId());
+                    updated++;
+                }
+            }
+        }
+        if (!projectIds.isEmpty()) {
+            projectRepository.incrementVersions(projectIds);
+        }
+        activityRepository.flush();
+        return updated;
     }
 
     /**
@@ -59,6 +306,151 @@ public class ActivityService {
         return activityRepository.findAll(pageable);
     }
 
+    /**
+     * Get a slice of the activities, without counting them.
+     *
+     * @param pageable the pagination information.
+     * @return the slice of summaries.
+     */
+    @Transactional(readOnly = true)
+    public Slice<ActivitySummary> findSlice(Pageable pageable) {
+        LOG.debug("Request to get a slice of Activities");
+        return activityRepository.findAllSummariesBy(pageable);
+    }
+
+    /**
+     * Get a slice of the activities with only some fields, without counting them.
+     *
+     * @param fields the requested fields, among {@link #FIELDS}.
+     * @param pageable the pagination information.
+     * @return the slice of rows, each with the requested fields only.
+     * @throws IllegalArgumentException if an unknown field or sort property is requested.
+     */
+    @Transactional(readOnly = true)
+    public Slice<Map<String, Object>> findSlice(List<String> fields, Pageable pageable) {
+        LOG.debug("Request to get a slice of Activities with fields : {}", fields);
+        return sparseFieldsRepository.findSlice(Activity.class, FIELDS, fields, pageable);
+    }
+
+    /**
+     * Get an approximate number of activities.
+     *
+     * @return the estimated count.
+     */
+    @Transactional(readOnly = true)
+    public long estimateCount() {
+        return rowCountEstimator.estimate("activity", activityRepository::count);
+    }
+
+    /**
+     * Get a page of activities using keyset pagination.
+     *
+     * @param cursor the cursor returned with the previous page, {@code null} for the first page.
+     * @param size the page size.
+     * @return the page of summaries.
+     * @throws IllegalArgumentException if the cursor is malformed.
+     */
+    @Transactional(readOnly = true)
+    public CursorPage<ActivitySummary> findAllAfter(String cursor, int size) {
+        LOG.debug("Request to get Activities after cursor : {}", cursor);
+        long afterId = CursorPage.decodeCursor(cursor);
+        return CursorPage.of(activityRepository.findSummariesAfter(afterId, Limit.of(size + 1)), size, ActivitySummary::id);
+    }
+
+    /**
+     * Search activities using keyset pagination.
+     * <p>
+     * The filters are combined with the keyset condition into one query, ordered by start date then id, that selects
+     * the summaries directly without loading entities. When both the project and the status are given, the
+     * {@code (project_id, status, start_date)} index serves the filters and the order, so a page reads only its own
+     * rows; otherwise the matching rows are sorted before the page is cut.
+     *
+     * @param criteria the filters.
+     * @param cursor the cursor returned with the previous page, {@code null} for the first page.
+     * @param size the page size.
+     * @return the page of summaries.
+     * @throws IllegalArgumentException if the cursor is malformed.
+     */
+    @Transactional(readOnly = true)
+    public CursorPage<ActivitySummary> search(ActivityCriteria criteria, String cursor, int size) {
+        LOG.debug("Request to search Activities : {}, after cursor : {}", criteria, cursor);
+        ActivitySearchCursor after = ActivitySearchCursor.decode(cursor);
+        Specification<Activity> specification = Specification.where(ActivitySpecifications.hasProject(criteria.projectId()))
+            .and(ActivitySpecifications.hasStatus(criteria.status()))
+            .and(ActivitySpecifications.startsFrom(criteria.from()))
+            .and(ActivitySpecifications.startsBefore(criteria.to()));
+        List<ActivitySummary> rows = after == null
+            ? activityRepository.findSummariesAfter(specification, null, null, size + 1)
+            : activityRepository.findSummariesAfter(specification, after.startDate(), after.id(), size + 1);
+        if (rows.size() <= size) {
+            return new CursorPage<>(rows, null);
+        }
+        List<ActivitySummary> content = rows.subList(0, size);
+        return new CursorPage<>(content, ActivitySearchCursor.of(content.get(size - 1)).encode());
+    }
+
+    /**
+     * Get the progress of a project, aggregated from its activities by a GROUP BY query.
+     *
+     * @param projectId the id of the project.
+     * @param cached whether the stats may be served from, and stored in, the cache cleared on every activity write.
+     * @return the stats, or empty if the project does not exist.
+     */
+    @Transactional(readOnly = true)
+    @Cacheable(cacheNames = PROJECT_STATS_CACHE, key = "#projectId", condition = "#cached")
+    public Optional<ProjectStats> findProjectStats(Long projectId, boolean cached) {
+        LOG.debug("Request to get stats of Project : {}", projectId);
+        return ProjectStats.of(activityRepository.countByStatusForProject(projectId)).stream().findFirst();
+    }
+
+    /**
+     * Get the progress of each project of a client, aggregated from their activities by a GROUP BY query.
+     *
+     * @param clientId the id of the client.
+     * @param cached whether the stats may be served from, and stored in, the cache cleared on every activity write.
+     * @return the stats of each project, ordered by project id.
+     */
+    @Transactional(readOnly = true)
+    @Cacheable(cacheNames = CLIENT_PROJECT_STATS_CACHE, key = "#clientId", condition = "#cached")
+    public List<ProjectStats> findProjectStatsByClient(Long clientId, boolean cached) {
+        LOG.debug("Request to get stats of Projects of Client : {}", clientId);
+        return ProjectStats.of(activityRepository.countByStatusForClient(clientId));
+    }
+
+    /**
+     * Write all the activities of a project to a stream as newline-delimited JSON.
+     * <p>
+     * Rows are read as read-only summaries in keyset pages of 500, each by its own query outside of any transaction,
+     * so memory use does not depend on the number of activities and a connection is only held while a page is read,
+     * never while a slow client consumes the response. Each page seeks on the {@code (project_id, id)} index, so an
+     * export costs one index range scan in total rather than one per page.
+     * <p>
+     * The export is not a snapshot: each page sees the activities committed when it is read, so activities created,
+     * updated or deleted during the export may or may not be included, in their old or new state. The stream is
+     * flushed but not closed.
+     *
+     * @param projectId the id of the project.
+     * @param out the stream to write to.
+     * @throws IOException if writing fails.
+     */
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public void exportByProject(Long projectId, OutputStream out) throws IOException {
+        LOG.debug("Request to export Activities of Project : {}", projectId);
+        ObjectWriter writer = objectMapper.writerFor(ActivitySummary.class).without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+        try (JsonGenerator generator = objectMapper.getFactory().createGenerator(out).disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET)) {
+            long afterId = 0;
+            List<ActivitySummary> page;
+            do {
+                page = activityRepository.findSummariesByProjectIdAfter(projectId, afterId, Limit.of(EXPORT_PAGE_SIZE));
+                for (ActivitySummary activity : page) {
+                    writer.writeValue(generator, activity);
+                    generator.writeRaw('\n');
+                    afterId = activity.id();
+                }
+            } while (page.size() == EXPORT_PAGE_SIZE);
+        }
+    }
+
     /**
      * Get one activity by id.
      *
@@ -71,14 +463,52 @@ public class ActivityService {
         return activityRepository.findById(id);
     }
 
+    /**
+     * Get the version of a activity, used as its entity tag.
+     *
+     * @param id the id of the entity.
+     * @return the version, or empty if the entity does not exist.
+     */
+    @Transactional(readOnly = true)
+    public Optional<Long> findVersion(Long id) {
+        return activityRepository.findVersionById(id);
+    }
+
     /**
      * Delete the activity by id.
      *
      * @param id the id of the entity.
      */
+    @EvictProjectStats
     public void delete(Long id) {
         LOG.debug("Request to delete Activity : {}", id);
-        activityRepository.deleteById(id);
+        deleteIfExists(id);
+    }
+
+    /**
+     * Delete the activity by id if it exists, checking and deleting in a single transaction.
+     *
+     * @param id the id of the entity.
+     * @return true if the entity was deleted, false if it does not exist.
+     */
+    @EvictProjectStats
+    public boolean deleteIfExists(Long id) {
+        LOG.debug("Request to delete Activity if it exists : {}", id);
+        return activityRepository
+            .findById(id)
+            .map(activity -> {
+                incrementProjectVersion(activity);
+                activityRepository.delete(activity);
+                return true;
+            })
+            .orElse(false);
+    }
+
+    // Writing an activity does not change the version of its project, the entity tag of the project and its activities
+    private void incrementProjectVersion(Activity activity) {
+        if (activity.getProject() != null && activity.getProject().getId() != null) {
+            projectRepository.incrementVersions(List.of(activity.getProject().getId()));
+        }
     }
 
     /**
@@ -0,0 +1,173 @@
+package com.projectmanagement.service;
+
+import com.projectmanagement.config.ApplicationProperties;
+import com.projectmanagement.domain.enumeration.Status;
+import jakarta.annotation.PreDestroy;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+/**
+ * Write-behind queue for activity status changes.
+ * <p>
+ * Updates are kept in memory, one pending status per activity: a newer status for an activity replaces the
+ * queued one, so a burst of changes to the same activity costs a single write. The queue is flushed on a fixed
+ * delay through {@link ActivityService#updateStatuses(Map)}, one transaction per batch, written in JDBC batches.
+ * It holds at most {@code capacity} activities; when it is full, updates to activities not already queued are
+ * refused so the caller can back off.
+ * <p>
+ * Durability: an accepted update is only in memory until the next flush. It is lost if the process dies before
+ * then; on a graceful shutdown the queue is drained before the datasource closes. When the transaction of a batch
+ * fails, its activities are written again one per transaction, so a single failing activity does not hold back the
+ * others; an activity that still fails is queued again for the next flush, unless a newer status was queued
+ * meanwhile, and its change is dropped with an error log after {@code maxAttempts} failed flushes. Updates are
+ * otherwise last-write-wins.
+ * <p>
+ * Activity ids are not checked when a change is queued: a change to an unknown activity is accepted and discarded
+ * when the queue is written.
+ */
+@Service
+public class ActivityStatusQueue {
+
+    private static final Logger LOG = LoggerFactory.getLogger(ActivityStatusQueue.class);
+
+    private final ActivityService activityService;
+
+    private final int capacity;
+
+    private final int batchSize;
+
+    private final int maxAttempts;
+
+    private final Map<Long, Status> pending = new ConcurrentHashMap<>();
+
+    private final Map<Long, Integer> failedAttempts = new HashMap<>();
+
+    private final AtomicInteger size = new AtomicInteger();
+
+    public ActivityStatusQueue(ActivityService activityService, ApplicationProperties applicationProperties) {
+        this.activityService = activityService;
+        this.capacity = applicationProperties.getStatusQueue().getCapacity();
+        this.batchSize = applicationProperties.getStatusQueue().getBatchSize();
+        this.maxAttempts = applicationProperties.getStatusQueue().getMaxAttempts();
+    }
+
+    /**
+     * Queue a status change, replacing any change of the same activity not yet written.
+     *
+     * @param activityId the id of the activity.
+     * @param status the new status.
+     * @return true if the change was queued, false if the queue is full.
+     */
+    public boolean offer(Long activityId, Status status) {
+        boolean[] accepted = { true };
+        pending.compute(activityId, (id, queued) -> {
+            if (queued == null && size.incrementAndGet() > capacity) {
+                size.decrementAndGet();
+                accepted[0] = false;
+                return null;
+            }
+            return status;
+        });
+        return accepted[0];
+    }
+
+    /**
+     * Get the number of activities with a pending status change.
+     *
+     * @return the number of queued changes.
+     */
+    public int size() {
+        return size.get();
+    }
+
+    /**
+     * Write the queued changes, one batch per transaction, until the queue is empty.
+     * <p>
+     * The activities of a batch that fails are written one by one; those that still fail are queued again once the
+     * queue is empty, so they are retried by the next flush.
+     *
+     * @return the number of activities updated.
+     */
+    @Scheduled(fixedDelayString = "${application.status-queue.flush-interval:1s}")
+    public synchronized int flush() {
+        int updated = 0;
+        Map<Long, Status> failed = new LinkedHashMap<>();
+        Map<Long, Status> batch;
+        do {
+            batch = drain();
+            if (batch.isEmpty()) {
+                break;
+            }
+            try {
+                updated += activityService.updateStatuses(batch);
+                failedAttempts.keySet().removeAll(batch.keySet());
+            } catch (RuntimeException e) {
+                LOG.warn("Could not write the status of {} Activities, they are written one by one", batch.size(), e);
+                updated += updateOneByOne(batch, failed);
+            }
+        } while (batch.size() == batchSize);
+        failed.forEach(this::requeue);
+        return updated;
+    }
+
+    @PreDestroy
+    public void drainOnShutdown() {
+        LOG.debug("Request to flush {} queued Activity status changes", size());
+        flush();
+    }
+
+    private Map<Long, Status> drain() {
+        Map<Long, Status> batch = new LinkedHashMap<>();
+        Iterator<Long> ids = pending.keySet().iterator();
+        while (batch.size() < batchSize && ids.hasNext()) {
+            Long id = ids.next();
+            Status status = pending.remove(id);
+            if (status != null) {
+                size.decrementAndGet();
+                batch.put(id, status);
+            }
+        }
+        return batch;
+    }
+
+    private int updateOneByOne(Map<Long, Status> batch, Map<Long, Status> failed) {
+        int updated = 0;
+        for (Map.Entry<Long, Status> change : batch.entrySet()) {
+            Long id = change.getKey();
+            try {
+                updated += activityService.updateStatuses(Map.of(id, change.getValue()));
+                failedAttempts.remove(id);
+            } catch (RuntimeException e) {
+                int attempts = failedAttempts.merge(id, 1, Integer::sum);
+                if (attempts < maxAttempts) {
+                    LOG.warn("Could not write the status of Activity {}, attempt {} of {}", id, attempts, maxAttempts, e);
+                    failed.put(id, change.getValue());
+                } else {
+                    LOG.error("Could not write the status of Activity {} after {} attempts, dropping the change to {}",
+                            id, attempts, change.getValue(), e);
+                    failedAttempts.remove(id);
+                }
+            }
+        }
+        return updated;
+    }
+
+    private void requeue(Long activityId, Status status) {
+        // Ignores the capacity, the changes were already accepted
+        pending.compute(activityId, (id, queued) -> {
+            if (queued == null) {
+                size.incrementAndGet();
+                return status;
+            }
+            return queued;
+        });
+    }
+}
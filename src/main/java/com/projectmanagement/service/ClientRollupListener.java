@@ -0,0 +1,93 @@
+package com.projectmanagement.service;
+
+import com.projectmanagement.domain.Activity;
+import com.projectmanagement.domain.Client;
+import com.projectmanagement.domain.Project;
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import java.util.Objects;
+import java.util.function.Consumer;
+import org.springframework.beans.factory.ObjectProvider;
+
+/**
+ * Entity listener counting the changes a write makes to the {@link com.projectmanagement.domain.ClientRollup} of
+ * its client.
+ * <p>
+ * Updates are compared with the state the entity remembers from its last load or write, so only a change of status,
+ * start date, project or client is counted. Instantiated by Hibernate through the Spring bean container; the service
+ * is looked up lazily, and the listener does nothing in slices of the context without it.
+ */
+public class ClientRollupListener {
+
+    private final ObjectProvider<ClientRollupService> clientRollupService;
+
+    public ClientRollupListener(ObjectProvider<ClientRollupService> clientRollupService) {
+        this.clientRollupService = clientRollupService;
+    }
+
+    @PostPersist
+    public void onPersist(Object entity) {
+        if (entity instanceof Client client) {
+            // Creates the empty rollup of a new client, so it can be read before its first project
+            withService(service -> service.markClient(client.getId()));
+        } else if (entity instanceof Project project) {
+            withService(service -> service.countProject(clientId(project), project.getStatus(), 1));
+        } else if (entity instanceof Activity activity) {
+            withService(service -> service.countActivity(projectId(activity), activity.getStatus(), activity.getStartDate(), 1));
+        }
+    }
+
+    @PostUpdate
+    public void onUpdate(Object entity) {
+        if (entity instanceof Activity activity) {
+            if (
+                activity.getStatus() != activity.getPersistedStatus() ||
+                !Objects.equals(activity.getStartDate(), activity.getPersistedStartDate()) ||
+                !Objects.equals(projectId(activity), activity.getPersistedProjectId())
+            ) {
+                withService(service -> {
+                    service.countActivity(activity.getPersistedProjectId(), activity.getPersistedStatus(), activity.getPersistedStartDate(), -1);
+                    service.countActivity(projectId(activity), activity.getStatus(), activity.getStartDate(), 1);
+                });
+            }
+        } else if (entity instanceof Project project) {
+            if (!Objects.equals(clientId(project), project.getPersistedClientId())) {
+                // Its activities move with it, both clients are recomputed
+                withService(service -> {
+                    service.markClient(project.getPersistedClientId());
+                    service.markClient(clientId(project));
+                });
+            } else if (project.getStatus() != project.getPersistedStatus()) {
+                withService(service -> {
+                    service.countProject(clientId(project), project.getPersistedStatus(), -1);
+                    service.countProject(clientId(project), project.getStatus(), 1);
+                });
+            }
+        }
+    }
+
+    @PostRemove
+    public void onRemove(Object entity) {
+        if (entity instanceof Activity activity) {
+            withService(service ->
+                service.countActivity(activity.getPersistedProjectId(), activity.getPersistedStatus(), activity.getPersistedStartDate(), -1)
+            );
+        } else if (entity instanceof Project project) {
+            // Its activities are deleted in bulk, without callbacks, so the client is recomputed
+            withService(service -> service.markClient(project.getPersistedClientId()));
+        }
+    }
+
+    private static Long projectId(Activity activity) {
+        return activity.getProject() == null ? null : activity.getProject().getId();
+    }
+
+    private static Long clientId(Project project) {
+        return project.getClient() == null ? null : project.getClient().getId();
+    }
+
+    private void withService(Consumer<ClientRollupService> action) {
+        clientRollupService.ifAvailable(action);
+    }
+}
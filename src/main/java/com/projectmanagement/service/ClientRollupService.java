@@ -0,0 +1,331 @@
+package com.projectmanagement.service;
+
+import com.projectmanagement.config.ApplicationProperties;
+import com.projectmanagement.domain.ClientRollup;
+import com.projectmanagement.domain.enumeration.Status;
+import com.projectmanagement.repository.ClientRepository;
+import com.projectmanagement.repository.ClientRollupRepository;
+import com.projectmanagement.repository.ProjectRepository;
+import com.projectmanagement.repository.projection.ClientSummary;
+import com.projectmanagement.repository.projection.ProjectClient;
+import com.projectmanagement.repository.projection.StatusCount;
+import com.projectmanagement.service.dto.ClientRollupSummary;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import java.time.Instant;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import org.hibernate.engine.spi.SessionImplementor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Service maintaining the {@link ClientRollup} of each client.
+ * <p>
+ * Writes to projects and activities are counted per client through the {@link ClientRollupListener}; when the
+ * transaction commits, after the last flush, each affected rollup row is updated with the net change of its counts,
+ * so the rollup commits or rolls back with the write and a write costs one update per client whatever its size.
+ * The last activity date is only recomputed when the latest activity may have been removed or moved earlier.
+ * Changes the listener cannot count, such as bulk deletes or a project moved to another client, mark the client
+ * instead, and its rollup row is locked and recomputed from indexed aggregate queries. A scheduled rebuild recomputes
+ * every client to repair any drift, such as rows written outside this service.
+ */
+@Service
+@Transactional
+public class ClientRollupService {
+
+    private static final Logger LOG = LoggerFactory.getLogger(ClientRollupService.class);
+
+    private final ClientRollupRepository clientRollupRepository;
+
+    private final ProjectRepository projectRepository;
+
+    private final ClientRepository clientRepository;
+
+    private final TransactionTemplate transactionTemplate;
+
+    private final int rebuildBatchSize;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    public ClientRollupService(
+        ClientRollupRepository clientRollupRepository,
+        ProjectRepository projectRepository,
+        ClientRepository clientRepository,
+        PlatformTransactionManager transactionManager,
+        ApplicationProperties applicationProperties
+    ) {
+        this.clientRollupRepository = clientRollupRepository;
+        this.projectRepository = projectRepository;
+        this.clientRepository = clientRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.rebuildBatchSize = applicationProperties.getRollup().getRebuildBatchSize();
+    }
+
+    /**
+     * Get the rollup of a client.
+     *
+     * @param clientId the id of the client.
+     * @return the summary, or empty if the client does not exist.
+     */
+    @Transactional(readOnly = true)
+    public Optional<ClientRollupSummary> findSummary(Long clientId) {
+        LOG.debug("Request to get summary of Client : {}", clientId);
+        return clientRollupRepository.findById(clientId).map(ClientRollupSummary::of);
+    }
+
+    /**
+     * Count a project added to, or removed from, a status of a client before the current transaction commits.
+     *
+     * @param clientId the id of the client.
+     * @param status the status of the project.
+     * @param delta {@code 1} for an added project, {@code -1} for a removed one.
+     */
+    public void countProject(Long clientId, Status status, int delta) {
+        Changes changes = changes();
+        if (changes != null && clientId != null && status != null) {
+            changes.clientDeltas.computeIfAbsent(clientId, id -> new Delta()).projects[status.ordinal()] += delta;
+        }
+    }
+
+    /**
+     * Count an activity added to, or removed from, a status of a project before the current transaction commits.
+     *
+     * @param projectId the id of the project.
+     * @param status the status of the activity.
+     * @param startDate the start date of the activity.
+     * @param delta {@code 1} for an added activity, {@code -1} for a removed one.
+     */
+    public void countActivity(Long projectId, Status status, Instant startDate, int delta) {
+        Changes changes = changes();
+        if (changes != null && projectId != null && status != null) {
+            Delta projectDelta = changes.projectDeltas.computeIfAbsent(projectId, id -> new Delta());
+            projectDelta.activities[status.ordinal()] += delta;
+            if (delta > 0) {
+                projectDelta.addDate(startDate);
+            } else {
+                projectDelta.removeDate(startDate);
+            }
+        }
+    }
+
+    /**
+     * Mark the rollup of a client to be refreshed before the current transaction commits.
+     *
+     * @param clientId the id of the client.
+     */
+    public void markClient(Long clientId) {
+        Changes changes = changes();
+        if (changes != null && clientId != null) {
+            changes.clientIds.add(clientId);
+        }
+    }
+
+    /**
+     * Mark the rollup of the client of a project to be refreshed before the current transaction commits.
+     *
+     * @param projectId the id of the project.
+     */
+    public void markProject(Long projectId) {
+        Changes changes = changes();
+        if (changes != null && projectId != null) {
+            changes.projectIds.add(projectId);
+        }
+    }
+
+    /**
+     * Recompute the rollup of every client, one batch of clients per transaction.
+     */
+    @Scheduled(cron = "${application.rollup.rebuild-cron:0 30 3 * * *}")
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public void rebuild() {
+        LOG.debug("Request to rebuild all Client rollups");
+        long afterId = 0;
+        List<ClientSummary> clients;
+        do {
+            long from = afterId;
+            clients = clientRepository.findSummariesAfter(from, Limit.of(rebuildBatchSize));
+            List<ClientSummary> batch = clients;
+            transactionTemplate.executeWithoutResult(status -> batch.forEach(client -> refresh(client.id())));
+            if (!clients.isEmpty()) {
+                afterId = clients.get(clients.size() - 1).id();
+            }
+        } while (clients.size() == rebuildBatchSize);
+    }
+
+    private Changes changes() {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            return null;
+        }
+        Changes changes = (Changes) TransactionSynchronizationManager.getResource(this);
+        if (changes == null) {
+            Changes registered = new Changes();
+            TransactionSynchronizationManager.bindResource(this, registered);
+            TransactionSynchronizationManager.registerSynchronization(
+                new TransactionSynchronization() {
+                    @Override
+                    public void afterCompletion(int status) {
+                        TransactionSynchronizationManager.unbindResourceIfPossible(ClientRollupService.this);
+                    }
+                }
+            );
+            // Runs after Hibernate's flush on commit, which is when the updates and deletes reach the listener
+            entityManager.unwrap(SessionImplementor.class).getActionQueue().registerProcess(session -> refresh(registered));
+            changes = registered;
+        }
+        return changes;
+    }
+
+    private void refresh(Changes changes) {
+        Set<Long> refreshed = new TreeSet<>(changes.clientIds);
+        Map<Long, Delta> deltas = new TreeMap<>(changes.clientDeltas);
+        Set<Long> projectIds = new HashSet<>(changes.projectIds);
+        projectIds.addAll(changes.projectDeltas.keySet());
+        if (!projectIds.isEmpty()) {
+            // The activities of projects deleted meanwhile are counted by the refresh of their client
+            for (ProjectClient project : projectRepository.findClientsByIdIn(projectIds)) {
+                if (changes.projectIds.contains(project.projectId())) {
+                    refreshed.add(project.clientId());
+                }
+                Delta delta = changes.projectDeltas.get(project.projectId());
+                if (delta != null) {
+                    deltas.computeIfAbsent(project.clientId(), id -> new Delta()).add(delta);
+                }
+            }
+        }
+        Set<Long> clientIds = new TreeSet<>(refreshed);
+        clientIds.addAll(deltas.keySet());
+        // Lock the rows in id order, so transactions touching several clients cannot deadlock
+        for (Long clientId : clientIds) {
+            Delta delta = deltas.get(clientId);
+            if (refreshed.contains(clientId) || !apply(clientId, delta)) {
+                refresh(clientId);
+            }
+        }
+        entityManager.flush();
+    }
+
+    private boolean apply(Long clientId, Delta delta) {
+        if (delta.isEmpty()) {
+            return true;
+        }
+        LOG.debug("Request to update rollup of Client : {}", clientId);
+        long[] projects = delta.projects;
+        long[] activities = delta.activities;
+        int updated = clientRollupRepository.addCounts(
+            clientId,
+            projects[Status.OPEN.ordinal()],
+            projects[Status.IN_PROGRESS.ordinal()],
+            projects[Status.COMPLETED.ordinal()],
+            projects[Status.PENDING.ordinal()],
+            activities[Status.OPEN.ordinal()],
+            activities[Status.IN_PROGRESS.ordinal()],
+            activities[Status.COMPLETED.ordinal()],
+            activities[Status.PENDING.ordinal()],
+            Instant.now()
+        );
+        if (updated == 0) {
+            return false;
+        }
+        if (delta.addedDate != null) {
+            clientRollupRepository.advanceLastActivityDate(clientId, delta.addedDate);
+        }
+        if (delta.removedDate != null) {
+            clientRollupRepository.recomputeLastActivityDate(clientId, delta.removedDate);
+        }
+        return true;
+    }
+
+    private void refresh(Long clientId) {
+        LOG.debug("Request to refresh rollup of Client : {}", clientId);
+        Optional<ClientRollup> existing = clientRollupRepository.findForUpdate(clientId);
+        ClientRollup rollup = existing.orElseGet(() -> new ClientRollup(clientId));
+        for (Status status : Status.values()) {
+            rollup.setProjectCount(status, 0);
+            rollup.setActivityCount(status, 0);
+        }
+        for (StatusCount count : clientRollupRepository.countProjectsByStatus(clientId)) {
+            rollup.setProjectCount(count.status(), count.count());
+        }
+        for (StatusCount count : clientRollupRepository.countActivitiesByStatus(clientId)) {
+            rollup.setActivityCount(count.status(), count.count());
+        }
+        rollup.setLastActivityDate(clientRollupRepository.findLastActivityDate(clientId));
+        rollup.setRefreshedAt(Instant.now());
+        if (existing.isEmpty()) {
+            entityManager.persist(rollup);
+        }
+    }
+
+    private static final class Changes {
+
+        private final Set<Long> clientIds = new HashSet<>();
+
+        private final Set<Long> projectIds = new HashSet<>();
+
+        private final Map<Long, Delta> clientDeltas = new HashMap<>();
+
+        private final Map<Long, Delta> projectDeltas = new HashMap<>();
+    }
+
+    /**
+     * The net change of the counts of a client or project, by status ordinal, with the latest added and removed
+     * activity dates.
+     */
+    private static final class Delta {
+
+        private final long[] projects = new long[Status.values().length];
+
+        private final long[] activities = new long[Status.values().length];
+
+        private Instant addedDate;
+
+        private Instant removedDate;
+
+        private void addDate(Instant date) {
+            if (date != null && (addedDate == null || date.isAfter(addedDate))) {
+                addedDate = date;
+            }
+        }
+
+        private void removeDate(Instant date) {
+            if (date != null && (removedDate == null || date.isAfter(removedDate))) {
+                removedDate = date;
+            }
+        }
+
+        private void add(Delta other) {
+            for (int i = 0; i < projects.length; i++) {
+                projects[i] += other.projects[i];
+                activities[i] += other.activities[i];
+            }
+            addDate(other.addedDate);
+            removeDate(other.removedDate);
+        }
+
+        private boolean isEmpty() {
+            for (int i = 0; i < projects.length; i++) {
+                if (projects[i] != 0 || activities[i] != 0) {
+                    return false;
+                }
+            }
+            return addedDate == null && removedDate == null;
+        }
+    }
+}
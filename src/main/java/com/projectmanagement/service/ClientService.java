@@ -1,12 +1,29 @@
 package com.projectmanagement.service;
 
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import com.projectmanagement.domain.Client;
 import com.projectmanagement.repository.ClientRepository;
+import com.projectmanagement.repository.RowCountEstimator;
+import com.projectmanagement.repository.SparseFieldsRepository;
+import com.projectmanagement.repository.projection.ClientSummary;
+import com.projectmanagement.service.dto.CursorPage;
+import io.micrometer.core.annotation.Timed;
+import jakarta.validation.Validator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -15,14 +32,47 @@ import org.springframework.transaction.annotation.Transactional;
  */
 @Service
 @Transactional
+@Timed(value = "service.method", histogram = true)
 public class ClientService {
 
+    public static final String CLIENT_SUGGESTIONS_CACHE = "client-suggestions";
+
+    public static final int MAX_SUGGESTIONS = 50;
+
+    /**
+     * The fields that may be requested with {@link #findSlice(List, Pageable)}, with their attribute paths.
+     */
+    public static final Map<String, String> FIELDS = Map.of("id", "id", "version", "version", "name", "name", "email", "email", "phone", "phone");
+
+    /**
+     * The fields that may be set by {@link #patch(Long, JsonNode, Long)}.
+     */
+    public static final Set<String> PATCHABLE_FIELDS = Set.of("name", "email", "phone");
+
     private static final Logger LOG = LoggerFactory.getLogger(ClientService.class);
 
     private final ClientRepository clientRepository;
 
-    public ClientService(ClientRepository clientRepository) {
+    private final RowCountEstimator rowCountEstimator;
+
+    private final SparseFieldsRepository sparseFieldsRepository;
+
+    private final ObjectMapper objectMapper;
+
+    private final Validator validator;
+
+    public ClientService(
+        ClientRepository clientRepository,
+        RowCountEstimator rowCountEstimator,
+        SparseFieldsRepository sparseFieldsRepository,
+        ObjectMapper objectMapper,
+        Validator validator
+    ) {
         this.clientRepository = clientRepository;
+        this.rowCountEstimator = rowCountEstimator;
+        this.sparseFieldsRepository = sparseFieldsRepository;
+        this.objectMapper = objectMapper;
+        this.validator = validator;
     }
 
     /**
@@ -31,6 +81,7 @@ public class ClientService {
      * @param client the entity to save.
      * @return the persisted entity.
      */
+    @CacheEvict(cacheNames = CLIENT_SUGGESTIONS_CACHE, allEntries = true)
     public Client save(Client client) {
         LOG.debug("Request to save Client : {}", client);
         return clientRepository.save(client);
@@ -42,11 +93,60 @@ public class ClientService {
      * @param client the entity to save.
      * @return the persisted entity.
      */
+    @CacheEvict(cacheNames = CLIENT_SUGGESTIONS_CACHE, allEntries = true)
     public Client update(Client client) {
         LOG.debug("Request to update Client : {}", client);
         return clientRepository.save(client);
     }
 
+    /**
+     * Update a client if it exists, checking and writing in a single transaction.
+     * <p>
+     * The current client is read through the second-level cache, so when it is cached the only
+     * statement issued is the versioned update.
+     *
+     * @param client the entity to update, with its id.
+     * @return the updated entity, or empty if it does not exist.
+     * @throws ObjectOptimisticLockingFailureException if the given version is not the current one.
+     */
+    @CacheEvict(cacheNames = CLIENT_SUGGESTIONS_CACHE, allEntries = true)
+    public Optional<Client> updateIfExists(Client client) {
+        LOG.debug("Request to update Client if it exists : {}", client);
+        return clientRepository.findById(client.getId()).map(current -> {
+            if (client.getVersion() != null && !client.getVersion().equals(current.getVersion())) {
+                throw new ObjectOptimisticLockingFailureException(Client.class, client.getId());
+            }
+            current.setName(client.getName());
+            current.setEmail(client.getEmail());
+            current.setPhone(client.getPhone());
+            return current;
+        });
+    }
+
+    /**
+     * Apply a JSON Merge Patch to a client if it exists, checking and writing in a single transaction.
+     * <p>
+     * Only its name, email and phone may be patched. Only the patched columns are written,
+     * in a versioned update of the client row.
+     *
+     * @param id the id of the entity.
+     * @param patch the merge patch.
+     * @param version the expected version, or {@code null} to patch any version.
+     * @return the patched entity, or empty if it does not exist.
+     * @throws IllegalArgumentException if the patch is invalid or leaves the entity invalid.
+     * @throws ObjectOptimisticLockingFailureException if the expected version is not the current one.
+     */
+    @CacheEvict(cacheNames = CLIENT_SUGGESTIONS_CACHE, allEntries = true)
+    public Optional<Client> patch(Long id, JsonNode patch, Long version) {
+        LOG.debug("Request to patch Client : {}, {}", id, patch);
+        return clientRepository.findById(id).map(current -> {
+            if (version != null && !version.equals(current.getVersion())) {
+                throw new ObjectOptimisticLockingFailureException(Client.class, id);
+            }
+            return MergePatch.apply(objectMapper, validator, current, patch, PATCHABLE_FIELDS);
+        });
+    }
+
     /**
      * Get all the clients.
      *
@@ -59,6 +159,74 @@ public class ClientService {
         return clientRepository.findAll(pageable);
     }
 
+    /**
+     * Get a slice of the clients, without counting them.
+     *
+     * @param pageable the pagination information.
+     * @return the slice of summaries.
+     */
+    @Transactional(readOnly = true)
+    public Slice<ClientSummary> findSlice(Pageable pageable) {
+        LOG.debug("Request to get a slice of Clients");
+        return clientRepository.findAllSummariesBy(pageable);
+    }
+
+    /**
+     * Get a slice of the clients with only some fields, without counting them.
+     *
+     * @param fields the requested fields, among {@link #FIELDS}.
+     * @param pageable the pagination information.
+     * @return the slice of rows, each with the requested fields only.
+     * @throws IllegalArgumentException if an unknown field or sort property is requested.
+     */
+    @Transactional(readOnly = true)
+    public Slice<Map<String, Object>> findSlice(List<String> fields, Pageable pageable) {
+        LOG.debug("Request to get a slice of Clients with fields : {}", fields);
+        return sparseFieldsRepository.findSlice(Client.class, FIELDS, fields, pageable);
+    }
+
+    /**
+     * Get an approximate number of clients.
+     *
+     * @return the estimated count.
+     */
+    @Transactional(readOnly = true)
+    public long estimateCount() {
+        return rowCountEstimator.estimate("client", clientRepository::count);
+    }
+
+    /**
+     * Get a page of clients using keyset pagination.
+     *
+     * @param cursor the cursor returned with the previous page, {@code null} for the first page.
+     * @param size the page size.
+     * @return the page of summaries.
+     * @throws IllegalArgumentException if the cursor is malformed.
+     */
+    @Transactional(readOnly = true)
+    public CursorPage<ClientSummary> findAllAfter(String cursor, int size) {
+        LOG.debug("Request to get Clients after cursor : {}", cursor);
+        long afterId = CursorPage.decodeCursor(cursor);
+        return CursorPage.of(clientRepository.findSummariesAfter(afterId, Limit.of(size + 1)), size, ClientSummary::id);
+    }
+
+    /**
+     * Get the clients whose name or email contains a text, for typeahead.
+     * <p>
+     * Results are cached by normalized text and size until the next client write.
+     *
+     * @param text the text typed so far.
+     * @param size the maximum number of suggestions.
+     * @return the summaries, those whose name starts with the text first, then by name.
+     */
+    @Transactional(readOnly = true)
+    @Cacheable(cacheNames = CLIENT_SUGGESTIONS_CACHE, key = "#text.strip().toLowerCase(T(java.util.Locale).ROOT) + ':' + #size")
+    public List<ClientSummary> suggest(String text, int size) {
+        LOG.debug("Request to suggest Clients matching : {}", text);
+        String escaped = text.strip().toLowerCase(Locale.ROOT).replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_");
+        return clientRepository.findSummariesMatching("%" + escaped + "%", escaped + "%", Limit.of(size));
+    }
+
     /**
      * Get one client by id.
      *
@@ -71,16 +239,46 @@ public class ClientService {
         return clientRepository.findById(id);
     }
 
+    /**
+     * Get the version of a client, used as its entity tag.
+     *
+     * @param id the id of the entity.
+     * @return the version, or empty if the entity does not exist.
+     */
+    @Transactional(readOnly = true)
+    public Optional<Long> findVersion(Long id) {
+        return clientRepository.findVersionById(id);
+    }
+
     /**
      * Delete the client by id.
      *
      * @param id the id of the entity.
      */
+    @CacheEvict(cacheNames = CLIENT_SUGGESTIONS_CACHE, allEntries = true)
     public void delete(Long id) {
         LOG.debug("Request to delete Client : {}", id);
         clientRepository.deleteById(id);
     }
 
+    /**
+     * Delete the client by id if it exists, checking and deleting in a single transaction.
+     *
+     * @param id the id of the entity.
+     * @return true if the entity was deleted, false if it does not exist.
+     */
+    @CacheEvict(cacheNames = CLIENT_SUGGESTIONS_CACHE, allEntries = true)
+    public boolean deleteIfExists(Long id) {
+        LOG.debug("Request to delete Client if it exists : {}", id);
+        return clientRepository
+            .findById(id)
+            .map(client -> {
+                clientRepository.delete(client);
+                return true;
+            })
+            .orElse(false);
+    }
+
      /**
      * Check if a client exists by id.
      *
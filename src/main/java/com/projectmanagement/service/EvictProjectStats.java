@@ -0,0 +1,15 @@
+package com.projectmanagement.service;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+import org.springframework.cache.annotation.CacheEvict;
+
+/**
+ * Marks a write that can change the progress of projects, clearing the cached {@link ActivityService} stats.
+ */
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+@CacheEvict(cacheNames = { ActivityService.PROJECT_STATS_CACHE, ActivityService.CLIENT_PROJECT_STATS_CACHE }, allEntries = true)
+public @interface EvictProjectStats {}
@@ -0,0 +1,64 @@
+package com.projectmanagement.service;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import java.io.IOException;
+import java.util.Iterator;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Applies a JSON Merge Patch (RFC 7386) to a loaded entity.
+ * <p>
+ * Only the listed scalar fields may be patched: members present in the patch are set, {@code null} members are
+ * cleared, and absent members are left unchanged. With {@code @DynamicUpdate} on the entity, the resulting update
+ * only writes the changed columns, and associations are never touched.
+ */
+final class MergePatch {
+
+    private MergePatch() {}
+
+    /**
+     * Apply a merge patch to an entity and validate the result.
+     *
+     * @param objectMapper the mapper used to read the patched values.
+     * @param validator the validator checking the patched entity.
+     * @param target the entity to patch, managed by the current persistence context.
+     * @param patch the merge patch.
+     * @param fields the names of the fields that may be patched.
+     * @param <T> the type of the entity.
+     * @return the patched entity.
+     * @throws IllegalArgumentException if the patch is not an object, sets another field, has a value of the
+     * wrong type, or leaves the entity invalid.
+     */
+    static <T> T apply(ObjectMapper objectMapper, Validator validator, T target, JsonNode patch, Set<String> fields) {
+        if (patch == null || !patch.isObject()) {
+            throw new IllegalArgumentException("A merge patch must be a JSON object");
+        }
+        Iterator<String> names = patch.fieldNames();
+        while (names.hasNext()) {
+            String name = names.next();
+            if (!fields.contains(name)) {
+                throw new IllegalArgumentException("Field cannot be patched : " + name);
+            }
+        }
+        try {
+            objectMapper.readerForUpdating(target).readValue(patch);
+        } catch (IOException e) {
+            throw new IllegalArgumentException("Invalid merge patch : " + e.getMessage(), e);
+        }
+        Set<ConstraintViolation<T>> violations = validator.validate(target);
+        if (!violations.isEmpty()) {
+            throw new IllegalArgumentException(
+                violations
+                    .stream()
+                    .map(violation -> violation.getPropertyPath() + " " + violation.getMessage())
+                    .sorted()
+                    .collect(Collectors.joining(", "))
+            );
+        }
+        return target;
+    }
+}
@@ -0,0 +1,156 @@
+package com.projectmanagement.service;
+
+import com.projectmanagement.config.ApplicationProperties;
+import com.projectmanagement.service.dto.ProjectDeletionStatus;
+import com.projectmanagement.service.dto.ProjectDeletionStatus.State;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicLong;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.task.TaskExecutionAutoConfiguration;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.stereotype.Service;
+
+/**
+ * Service deleting large projects in the background.
+ * <p>
+ * The activities of the project are deleted in chunks of {@code chunk-size}, each chunk in its own short
+ * transaction through {@link ProjectService#deleteActivities(Long, long, int)}, so no transaction holds locks on the
+ * whole project. The project and any activity added meanwhile are then deleted by
+ * {@link ProjectService#deleteIfExists(Long)}. The progress of each job is kept in memory, for {@code retention}
+ * after it ends; a job interrupted by a restart leaves the project with its remaining activities, and can be
+ * started again.
+ */
+@Service
+public class ProjectDeletionService {
+
+    private static final Logger LOG = LoggerFactory.getLogger(ProjectDeletionService.class);
+
+    private final ProjectService projectService;
+
+    private final Executor taskExecutor;
+
+    private final int chunkSize;
+
+    private final Duration retention;
+
+    private final Map<String, Job> jobs = new ConcurrentHashMap<>();
+
+    public ProjectDeletionService(
+        ProjectService projectService,
+        @Qualifier(TaskExecutionAutoConfiguration.APPLICATION_TASK_EXECUTOR_BEAN_NAME) Executor taskExecutor,
+        ApplicationProperties applicationProperties
+    ) {
+        this.projectService = projectService;
+        this.taskExecutor = taskExecutor;
+        this.chunkSize = applicationProperties.getProjectDeletion().getChunkSize();
+        this.retention = applicationProperties.getProjectDeletion().getRetention();
+    }
+
+    /**
+     * Start deleting a project in the background, unless it is already being deleted.
+     *
+     * @param projectId the id of the project.
+     * @return the status of the new job, or of the job already deleting the project,
+     * or empty if the project does not exist.
+     */
+    public Optional<ProjectDeletionStatus> start(Long projectId) {
+        LOG.debug("Request to start deleting Project : {}", projectId);
+        purgeExpired();
+        synchronized (jobs) {
+            Optional<Job> running = jobs.values().stream().filter(job -> job.projectId.equals(projectId) && job.state == State.RUNNING).findFirst();
+            if (running.isPresent()) {
+                return Optional.of(running.get().status());
+            }
+            Optional<Long> total = projectService.countActivities(projectId);
+            if (total.isEmpty()) {
+                return Optional.empty();
+            }
+            Job job = new Job(UUID.randomUUID().toString(), projectId, total.get());
+            jobs.put(job.id, job);
+            try {
+                taskExecutor.execute(() -> run(job));
+            } catch (TaskRejectedException e) {
+                LOG.warn("Could not start deleting Project : {}", projectId, e);
+                job.finish(State.FAILED);
+            }
+            return Optional.of(job.status());
+        }
+    }
+
+    /**
+     * Get the status of a deletion job.
+     *
+     * @param jobId the id of the job.
+     * @return the status, or empty if the job is unknown or expired.
+     */
+    public Optional<ProjectDeletionStatus> findStatus(String jobId) {
+        purgeExpired();
+        return Optional.ofNullable(jobs.get(jobId)).map(Job::status);
+    }
+
+    private void run(Job job) {
+        try {
+            List<Long> deleted;
+            long afterId = 0;
+            do {
+                deleted = projectService.deleteActivities(job.projectId, afterId, chunkSize);
+                job.deleted.addAndGet(deleted.size());
+                if (!deleted.isEmpty()) {
+                    afterId = deleted.get(deleted.size() - 1);
+                }
+            } while (deleted.size() == chunkSize);
+            projectService.deleteIfExists(job.projectId);
+            job.finish(State.COMPLETED);
+            LOG.debug("Deleted Project : {} and {} Activities", job.projectId, job.deleted.get());
+        } catch (RuntimeException e) {
+            LOG.warn("Could not delete Project : {} after {} Activities", job.projectId, job.deleted.get(), e);
+            job.finish(State.FAILED);
+        }
+    }
+
+    private void purgeExpired() {
+        Instant expiry = Instant.now().minus(retention);
+        jobs.values().removeIf(job -> job.finishedAt != null && job.finishedAt.isBefore(expiry));
+    }
+
+    private static final class Job {
+
+        private final String id;
+
+        private final Long projectId;
+
+        private final long total;
+
+        private final AtomicLong deleted = new AtomicLong();
+
+        private final Instant startedAt = Instant.now();
+
+        private volatile State state = State.RUNNING;
+
+        private volatile Instant finishedAt;
+
+        private Job(String id, Long projectId, long total) {
+            this.id = id;
+            this.projectId = projectId;
+            this.total = total;
+        }
+
+        private void finish(State state) {
+            this.finishedAt = Instant.now();
+            this.state = state;
+        }
+
+        private ProjectDeletionStatus status() {
+            return new ProjectDeletionStatus(id, projectId, state, total, deleted.get(), startedAt, finishedAt);
+        }
+    }
+}
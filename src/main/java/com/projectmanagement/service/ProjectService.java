@@ -1,12 +1,30 @@
 package com.projectmanagement.service;
 
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import com.projectmanagement.domain.Project;
+import com.projectmanagement.repository.ActivityRepository;
+import com.projectmanagement.repository.ClientRepository;
 import com.projectmanagement.repository.ProjectRepository;
+import com.projectmanagement.repository.RowCountEstimator;
+import com.projectmanagement.repository.SparseFieldsRepository;
+import com.projectmanagement.repository.projection.ActivityStatusCount;
+import com.projectmanagement.repository.projection.ProjectSummary;
+import com.projectmanagement.service.dto.CursorPage;
+import io.micrometer.core.annotation.Timed;
+import jakarta.validation.Validator;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import org.hibernate.Hibernate;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -15,14 +33,64 @@ import org.springframework.transaction.annotation.Transactional;
  */
 @Service
 @Transactional
+@Timed(value = "service.method", histogram = true)
 public class ProjectService {
 
+    /**
+     * The fields that may be requested with {@link #findSlice(List, Pageable)}, with their attribute paths.
+     */
+    public static final Map<String, String> FIELDS = Map.of(
+        "id", "id",
+        "version", "version",
+        "name", "name",
+        "description", "description",
+        "status", "status",
+        "startDate", "startDate",
+        "endDate", "endDate",
+        "clientId", "client.id"
+    );
+
+    /**
+     * The fields that may be set by {@link #patch(Long, JsonNode, Long)}.
+     */
+    public static final Set<String> PATCHABLE_FIELDS = Set.of("name", "description", "status", "startDate", "endDate");
+
     private static final Logger LOG = LoggerFactory.getLogger(ProjectService.class);
 
     private final ProjectRepository projectRepository;
 
-    public ProjectService(ProjectRepository projectRepository) {
+    private final ClientRepository clientRepository;
+
+    private final RowCountEstimator rowCountEstimator;
+
+    private final ClientRollupService clientRollupService;
+
+    private final SparseFieldsRepository sparseFieldsRepository;
+
+    private final ObjectMapper objectMapper;
+
+    private final Validator validator;
+
+    private final ActivityRepository activityRepository;
+
+    public ProjectService(
+        ProjectRepository projectRepository,
+        ClientRepository clientRepository,
+        RowCountEstimator rowCountEstimator,
+        ClientRollupService clientRollupService,
+        SparseFieldsRepository sparseFieldsRepository,
+        ObjectMapper objectMapper,
+        Validator validator,
+        ActivityRepository activityRepository
+    ) {
         this.projectRepository = projectRepository;
+        this.clientRepository = clientRepository;
+        this.rowCountEstimator = rowCountEstimator;
+        this.clientRollupService = clientRollupService;
+        this.sparseFieldsRepository = sparseFieldsRepository;
+        this.objectMapper = objectMapper;
+        this.validator = validator;
+        this.activityRepository = activityRepository;
     }
 
     /**
@@ -31,6 +99,7 @@ public class ProjectService {
      * @param project the entity to save.
      * @return the persisted entity.
      */
+    @EvictProjectStats
     public Project save(Project project) {
         LOG.debug("Request to save Project : {}", project);
         return projectRepository.save(project);
@@ -42,11 +111,65 @@ public class ProjectService {
      * @param project the entity to save.
      * @return the persisted entity.
      */
+    @EvictProjectStats
     public Project update(Project project) {
         LOG.debug("Request to update Project : {}", project);
         return projectRepository.save(project);
     }
 
+    /**
+     * Update a project if it exists, checking and writing in a single transaction.
+     * <p>
+     * The current project is read through the second-level cache, so when it is cached the only
+     * statement issued is the versioned update. Its activities are left unchanged.
+     *
+     * @param project the entity to update, with its id.
+     * @return the updated entity, or empty if it does not exist.
+     * @throws ObjectOptimisticLockingFailureException if the given version is not the current one.
+     */
+    @EvictProjectStats
+    public Optional<Project> updateIfExists(Project project) {
+        LOG.debug("Request to update Project if it exists : {}", project);
+        return projectRepository.findById(project.getId()).map(current -> {
+            if (project.getVersion() != null && !project.getVersion().equals(current.getVersion())) {
+                throw new ObjectOptimisticLockingFailureException(Project.class, project.getId());
+            }
+            current.setName(project.getName());
+            current.setDescription(project.getDescription());
+            current.setStatus(project.getStatus());
+            current.setStartDate(project.getStartDate());
+            current.setEndDate(project.getEndDate());
+            if (project.getClient() != null && project.getClient().getId() != null) {
+                current.setClient(clientRepository.getReferenceById(project.getClient().getId()));
+            }
+            return current;
+        });
+    }
+
+    /**
+     * Apply a JSON Merge Patch to a project if it exists, checking and writing in a single transaction.
+     * <p>
+     * Only its name, description, status and dates may be patched. Its client and activities are left unchanged and are not loaded. Only the patched columns are written,
+     * in a versioned update of the project row.
+     *
+     * @param id the id of the entity.
+     * @param patch the merge patch.
+     * @param version the expected version, or {@code null} to patch any version.
+     * @return the patched entity, or empty if it does not exist.
+     * @throws IllegalArgumentException if the patch is invalid or leaves the entity invalid.
+     * @throws ObjectOptimisticLockingFailureException if the expected version is not the current one.
+     */
+    @EvictProjectStats
+    public Optional<Project> patch(Long id, JsonNode patch, Long version) {
+        LOG.debug("Request to patch Project : {}, {}", id, patch);
+        return projectRepository.findById(id).map(current -> {
+            if (version != null && !version.equals(current.getVersion())) {
+                throw new ObjectOptimisticLockingFailureException(Project.class, id);
+            }
+            return MergePatch.apply(objectMapper, validator, current, patch, PATCHABLE_FIELDS);
+        });
+    }
+
     /**
      * Get all the projects.
      *
@@ -60,7 +183,82 @@ public class ProjectService {
     }
 
     /**
-     * Get one project by id.
+     * Get a slice of the projects, without counting them.
+     *
+     * @param pageable the pagination information.
+     * @return the slice of summaries.
+     */
+    @Transactional(readOnly = true)
+    public Slice<ProjectSummary> findSlice(Pageable pageable) {
+        LOG.debug("Request to get a slice of Projects");
+        return projectRepository.findAllSummariesBy(pageable);
+    }
+
+    /**
+     * Get a slice of the projects with only some fields, without counting them.
+     *
+     * @param fields the requested fields, among {@link #FIELDS}.
+     * @param pageable the pagination information.
+     * @return the slice of rows, each with the requested fields only.
+     * @throws IllegalArgumentException if an unknown field or sort property is requested.
+     */
+    @Transactional(readOnly = true)
+    public Slice<Map<String, Object>> findSlice(List<String> fields, Pageable pageable) {
+        LOG.debug("Request to get a slice of Projects with fields : {}", fields);
+        return sparseFieldsRepository.findSlice(Project.class, FIELDS, fields, pageable);
+    }
+
+    /**
+     * Get a slice of the projects, optionally with their activities and client.
+     * <p>
+     * The client is fetched with the page, the activities of the whole page with one more query,
+     * so the slice is loaded in at most two queries whatever its size.
+     *
+     * @param pageable the pagination information.
+     * @param withActivities whether to initialize the activities of each project.
+     * @param withClient whether to initialize the client of each project.
+     * @return the slice of entities.
+     */
+    @Transactional(readOnly = true)
+    public Slice<Project> findSlice(Pageable pageable, boolean withActivities, boolean withClient) {
+        LOG.debug("Request to get a slice of Projects with activities : {}, with client : {}", withActivities, withClient);
+        Slice<Project> slice = withClient ? projectRepository.findAllWithClientBy(pageable) : projectRepository.findAllBy(pageable);
+        if (withActivities && slice.hasContent()) {
+            projectRepository.fetchActivities(slice.getContent());
+        }
+        return slice;
+    }
+
+    /**
+     * Get an approximate number of projects.
+     *
+     * @return the estimated count.
+     */
+    @Transactional(readOnly = true)
+    public long estimateCount() {
+        return rowCountEstimator.estimate("project", projectRepository::count);
+    }
+
+    /**
+     * Get a page of projects using keyset pagination.
+     *
+     * @param cursor the cursor returned with the previous page, {@code null} for the first page.
+     * @param size the page size.
+     * @return the page of summaries.
+     * @throws IllegalArgumentException if the cursor is malformed.
+     */
+    @Transactional(readOnly = true)
+    public CursorPage<ProjectSummary> findAllAfter(String cursor, int size) {
+        LOG.debug("Request to get Projects after cursor : {}", cursor);
+        long afterId = CursorPage.decodeCursor(cursor);
+        return CursorPage.of(projectRepository.findSummariesAfter(afterId, Limit.of(size + 1)), size, ProjectSummary::id);
+    }
+
+    /**
+     * Get one project by id, with its activities and client.
+     * <p>
+     * The project and its client are read through the second-level cache; the activities are not cached as
+     * a collection and are loaded with one query.
      *
      * @param id the id of the entity.
      * @return the entity.
@@ -68,19 +266,102 @@ public class ProjectService {
     @Transactional(readOnly = true)
     public Optional<Project> findOne(Long id) {
         LOG.debug("Request to get Project : {}", id);
-        return projectRepository.findById(id);
+        return projectRepository.findById(id).map(project -> {
+            Hibernate.initialize(project.getActivities());
+            Hibernate.initialize(project.getClient());
+            return project;
+        });
+    }
+
+    /**
+     * Get the version of a project, used as its entity tag.
+     *
+     * @param id the id of the entity.
+     * @return the version, or empty if the entity does not exist.
+     */
+    @Transactional(readOnly = true)
+    public Optional<Long> findVersion(Long id) {
+        return projectRepository.findVersionById(id);
     }
 
     /**
      * Delete the project by id.
+     * <p>
+     * Its activities are deleted first by a single statement, so the cascade from the project finds none
+     * to load and remove one by one.
      *
      * @param id the id of the entity.
      */
+    @EvictProjectStats
     public void delete(Long id) {
         LOG.debug("Request to delete Project : {}", id);
+        activityRepository.deleteByProjectId(id);
         projectRepository.deleteById(id);
     }
 
+    /**
+     * Delete the project by id if it exists, checking and deleting in a single transaction.
+     * <p>
+     * Its activities are deleted first by a single statement, so the cascade from the project finds none
+     * to load and remove one by one.
+     *
+     * @param id the id of the entity.
+     * @return true if the entity was deleted, false if it does not exist.
+     */
+    @EvictProjectStats
+    public boolean deleteIfExists(Long id) {
+        LOG.debug("Request to delete Project if it exists : {}", id);
+        return projectRepository
+            .findById(id)
+            .map(project -> {
+                activityRepository.deleteByProjectId(id);
+                projectRepository.delete(project);
+                return true;
+            })
+            .orElse(false);
+    }
+
+    /**
+     * Delete the next activities of a project, in id order, leaving the project.
+     * <p>
+     * Used to delete a large project in chunks, each in its own transaction, before the project itself. The rows of
+     * the chunk are locked, counted per status into the client rollup and deleted in one statement each.
+     *
+     * @param id the id of the project.
+     * @param afterId the id of the last activity of the previous chunk, {@code 0} for the first chunk.
+     * @param limit the maximum number of activities to delete.
+     * @return the ids of the activities deleted, in id order.
+     */
+    @EvictProjectStats
+    public List<Long> deleteActivities(Long id, long afterId, int limit) {
+        LOG.debug("Request to delete {} Activities of Project : {} after Activity : {}", limit, id, afterId);
+        List<Long> activityIds = activityRepository.findIdsByProjectIdAfterForUpdate(id, afterId, Limit.of(limit));
+        if (activityIds.isEmpty()) {
+            return activityIds;
+        }
+        // The bulk delete bypasses the rollup listener
+        for (ActivityStatusCount count : activityRepository.countByStatusForProjectAndIdIn(id, activityIds)) {
+            clientRollupService.countActivity(id, count.status(), count.latestStartDate(), -Math.toIntExact(count.count()));
+        }
+        activityRepository.deleteByProjectIdAndIdIn(id, activityIds);
+        projectRepository.incrementVersions(List.of(id));
+        return activityIds;
+    }
+
+    /**
+     * Count the activities of a project.
+     *
+     * @param id the id of the project.
+     * @return the number of activities, or empty if the project does not exist.
+     */
+    @Transactional(readOnly = true)
+    public Optional<Long> countActivities(Long id) {
+        if (!projectRepository.existsById(id)) {
+            return Optional.empty();
+        }
+        return Optional.of(activityRepository.countByProjectId(id));
+    }
+
     /**
      * Check if a project exists by id.
      *
@@ -0,0 +1,52 @@
+package com.projectmanagement.service;
+
+import com.projectmanagement.repository.SearchRepository;
+import com.projectmanagement.repository.projection.SearchHit;
+import com.projectmanagement.service.dto.CursorPage;
+import com.projectmanagement.service.dto.SearchCursor;
+import io.micrometer.core.annotation.Timed;
+import java.util.List;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Service for searching {@link com.projectmanagement.domain.Project}s and
+ * {@link com.projectmanagement.domain.Activity}s by keywords.
+ */
+@Service
+@Transactional(readOnly = true)
+@Timed(value = "service.method", histogram = true)
+public class SearchService {
+
+    private static final Logger LOG = LoggerFactory.getLogger(SearchService.class);
+
+    private final SearchRepository searchRepository;
+
+    public SearchService(SearchRepository searchRepository) {
+        this.searchRepository = searchRepository;
+    }
+
+    /**
+     * Get a page of the projects and activities matching a query, most relevant first.
+     *
+     * @param query the words to search.
+     * @param cursor the cursor returned with the previous page, {@code null} for the first page.
+     * @param size the page size.
+     * @return the page of hits.
+     * @throws IllegalArgumentException if the cursor is malformed.
+     */
+    public CursorPage<SearchHit> search(String query, String cursor, int size) {
+        LOG.debug("Request to search : {} after cursor : {}", query, cursor);
+        SearchCursor after = SearchCursor.decode(cursor);
+        List<SearchHit> rows = after == null
+            ? searchRepository.search(query, size + 1)
+            : searchRepository.searchAfter(query, after.rank(), after.type(), after.id(), size + 1);
+        if (rows.size() <= size) {
+            return new CursorPage<>(rows, null);
+        }
+        List<SearchHit> content = rows.subList(0, size);
+        return new CursorPage<>(content, SearchCursor.of(content.get(size - 1)).encode());
+    }
+}
@@ -0,0 +1,35 @@
+package com.projectmanagement.service.dto;
+
+/**
+ * The outcome of one item of a batch of activities.
+ *
+ * @param index the position of the item in the batch.
+ * @param id the id of the activity, {@code null} if it was not created.
+ * @param outcome what happened to the item.
+ * @param message the reason the item was rejected, {@code null} if it was saved.
+ */
+public record ActivityBatchResult(int index, Long id, Outcome outcome, String message) {
+
+    public enum Outcome {
+        CREATED,
+        UPDATED,
+        NOT_FOUND,
+        INVALID,
+    }
+
+    public static ActivityBatchResult created(int index, Long id) {
+        return new ActivityBatchResult(index, id, Outcome.CREATED, null);
+    }
+
+    public static ActivityBatchResult updated(int index, Long id) {
+        return new ActivityBatchResult(index, id, Outcome.UPDATED, null);
+    }
+
+    public static ActivityBatchResult notFound(int index, Long id) {
+        return new ActivityBatchResult(index, id, Outcome.NOT_FOUND, "Activity not found");
+    }
+
+    public static ActivityBatchResult invalid(int index, Long id, String message) {
+        return new ActivityBatchResult(index, id, Outcome.INVALID, message);
+    }
+}
@@ -0,0 +1,23 @@
+package com.projectmanagement.service.dto;
+
+import com.projectmanagement.domain.enumeration.Status;
+import java.time.Instant;
+
+/**
+ * Optional filters of an activity search; {@code null} values do not filter.
+ *
+ * @param projectId the id of the project.
+ * @param status the status.
+ * @param from the inclusive lower bound of the start date.
+ * @param to the exclusive upper bound of the start date.
+ */
+public record ActivityCriteria(Long projectId, Status status, Instant from, Instant to) {
+    /**
+     * Check that the date window is not reversed.
+     *
+     * @return true if either bound is absent or {@code from} is not after {@code to}.
+     */
+    public boolean hasValidWindow() {
+        return from == null || to == null || !from.isAfter(to);
+    }
+}
@@ -0,0 +1,55 @@
+package com.projectmanagement.service.dto;
+
+import com.projectmanagement.repository.projection.ActivitySummary;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.Base64;
+
+/**
+ * The position of the last activity of a page of search results, which are ordered by start date, then id.
+ * <p>
+ * It is passed to clients as an opaque token, like the cursors of {@link CursorPage}.
+ *
+ * @param startDate the start date of the last activity.
+ * @param id the id of the last activity.
+ */
+public record ActivitySearchCursor(Instant startDate, long id) {
+    private static final String PREFIX = "activity:";
+
+    public static ActivitySearchCursor of(ActivitySummary activity) {
+        return new ActivitySearchCursor(activity.startDate(), activity.id());
+    }
+
+    /**
+     * Encode the cursor as an opaque token.
+     *
+     * @return the token.
+     */
+    public String encode() {
+        String value = PREFIX + startDate.getEpochSecond() + ":" + startDate.getNano() + ":" + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(value.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Decode a token into the position to seek after.
+     *
+     * @param cursor the token, may be {@code null} or blank for the first page.
+     * @return the position, or {@code null} for the first page.
+     * @throws IllegalArgumentException if the token is malformed.
+     */
+    public static ActivitySearchCursor decode(String cursor) {
+        if (cursor == null || cursor.isBlank()) {
+            return null;
+        }
+        String decoded = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+        String[] parts = decoded.startsWith(PREFIX) ? decoded.substring(PREFIX.length()).split(":") : new String[0];
+        if (parts.length != 3) {
+            throw new IllegalArgumentException("Invalid cursor : " + cursor);
+        }
+        try {
+            return new ActivitySearchCursor(Instant.ofEpochSecond(Long.parseLong(parts[0]), Long.parseLong(parts[1])), Long.parseLong(parts[2]));
+        } catch (RuntimeException e) {
+            throw new IllegalArgumentException("Invalid cursor : " + cursor, e);
+        }
+    }
+}
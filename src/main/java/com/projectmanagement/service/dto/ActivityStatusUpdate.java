@@ -0,0 +1,10 @@
+package com.projectmanagement.service.dto;
+
+import com.projectmanagement.domain.enumeration.Status;
+
+/**
+ * The body of an activity status change.
+ *
+ * @param status the new status.
+ */
+public record ActivityStatusUpdate(Status status) {}
@@ -0,0 +1,50 @@
+package com.projectmanagement.service.dto;
+
+import com.projectmanagement.domain.ClientRollup;
+import com.projectmanagement.domain.enumeration.Status;
+import java.time.Instant;
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * The projects and activities of a client, read from its {@link ClientRollup}.
+ *
+ * @param clientId the id of the client.
+ * @param projectsByStatus the number of projects of each status.
+ * @param totalProjects the number of projects.
+ * @param activitiesByStatus the number of activities of each status, over all the projects.
+ * @param totalActivities the number of activities.
+ * @param lastActivityDate the latest start date of the activities, {@code null} without activities.
+ * @param refreshedAt when the rollup was last computed.
+ */
+public record ClientRollupSummary(
+    Long clientId,
+    Map<Status, Long> projectsByStatus,
+    long totalProjects,
+    Map<Status, Long> activitiesByStatus,
+    long totalActivities,
+    Instant lastActivityDate,
+    Instant refreshedAt
+) {
+    public static ClientRollupSummary of(ClientRollup rollup) {
+        Map<Status, Long> projectsByStatus = new EnumMap<>(Status.class);
+        Map<Status, Long> activitiesByStatus = new EnumMap<>(Status.class);
+        long totalProjects = 0;
+        long totalActivities = 0;
+        for (Status status : Status.values()) {
+            projectsByStatus.put(status, rollup.getProjectCount(status));
+            activitiesByStatus.put(status, rollup.getActivityCount(status));
+            totalProjects += rollup.getProjectCount(status);
+            totalActivities += rollup.getActivityCount(status);
+        }
+        return new ClientRollupSummary(
+            rollup.getClientId(),
+            projectsByStatus,
+            totalProjects,
+            activitiesByStatus,
+            totalActivities,
+            rollup.getLastActivityDate(),
+            rollup.getRefreshedAt()
+        );
+    }
+}
@@ -0,0 +1,87 @@
+package com.projectmanagement.service.dto;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * A page of a keyset (seek) listing.
+ * <p>
+ * The {@code nextCursor} is an opaque token encoding the id of the last element of the page;
+ * it is {@code null} when there are no more elements.
+ *
+ * @param content the elements of the page.
+ * @param nextCursor the token to pass to fetch the next page, or {@code null} on the last page.
+ * @param <T> the type of the elements.
+ */
+public record CursorPage<T>(List<T> content, String nextCursor) {
+
+    public static final int DEFAULT_SIZE = 20;
+
+    public static final int MAX_SIZE = 1000;
+
+    private static final String PREFIX = "id:";
+
+    /**
+     * Build a page from a seek query result fetched with {@code size + 1} rows.
+     *
+     * @param rows the rows returned by the seek query, at most {@code size + 1}.
+     * @param size the requested page size.
+     * @param idExtractor the function returning the id of an element.
+     * @param <T> the type of the elements.
+     * @return the page, with a next cursor if the query returned more than {@code size} rows.
+     */
+    public static <T> CursorPage<T> of(List<T> rows, int size, Function<T, Long> idExtractor) {
+        if (rows.size() <= size) {
+            return new CursorPage<>(rows, null);
+        }
+        List<T> content = rows.subList(0, size);
+        return new CursorPage<>(content, encodeCursor(idExtractor.apply(content.get(size - 1))));
+    }
+
+    /**
+     * Clamp a requested page size to the supported range.
+     *
+     * @param size the requested size, may be {@code null}.
+     * @return a size between 1 and {@link #MAX_SIZE}.
+     */
+    public static int clampSize(Integer size) {
+        if (size == null) {
+            return DEFAULT_SIZE;
+        }
+        return Math.max(1, Math.min(size, MAX_SIZE));
+    }
+
+    /**
+     * Encode the id of the last element of a page as an opaque cursor.
+     *
+     * @param id the id of the last element.
+     * @return the cursor.
+     */
+    public static String encodeCursor(Long id) {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString((PREFIX + id).getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Decode a cursor into the id to seek after.
+     *
+     * @param cursor the cursor, may be {@code null} or blank for the first page.
+     * @return the id to seek after, {@code 0} for the first page.
+     * @throws IllegalArgumentException if the cursor is malformed.
+     */
+    public static long decodeCursor(String cursor) {
+        if (cursor == null || cursor.isBlank()) {
+            return 0L;
+        }
+        String decoded = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+        if (!decoded.startsWith(PREFIX)) {
+            throw new IllegalArgumentException("Invalid cursor : " + cursor);
+        }
+        try {
+            return Long.parseLong(decoded.substring(PREFIX.length()));
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Invalid cursor : " + cursor, e);
+        }
+    }
+}
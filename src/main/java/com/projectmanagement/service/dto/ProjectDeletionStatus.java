@@ -0,0 +1,30 @@
+package com.projectmanagement.service.dto;
+
+import java.time.Instant;
+
+/**
+ * The progress of an asynchronous project deletion.
+ *
+ * @param jobId the id of the deletion job.
+ * @param projectId the id of the project being deleted.
+ * @param state the state of the job.
+ * @param totalActivities the number of activities of the project when the job started.
+ * @param deletedActivities the number of activities deleted so far by the chunks of the job.
+ * @param startedAt when the job started.
+ * @param finishedAt when the job completed or failed, {@code null} while it runs.
+ */
+public record ProjectDeletionStatus(
+    String jobId,
+    Long projectId,
+    State state,
+    long totalActivities,
+    long deletedActivities,
+    Instant startedAt,
+    Instant finishedAt
+) {
+    public enum State {
+        RUNNING,
+        COMPLETED,
+        FAILED,
+    }
+}
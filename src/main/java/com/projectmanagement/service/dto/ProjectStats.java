@@ -0,0 +1,81 @@
+package com.projectmanagement.service.dto;
+
+import com.projectmanagement.domain.enumeration.Status;
+import com.projectmanagement.repository.projection.ActivityStatusCount;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.BinaryOperator;
+import java.util.function.Function;
+
+/**
+ * The progress of a project, from the status of its activities.
+ *
+ * @param projectId the id of the project.
+ * @param countsByStatus the number of activities of each status, including the statuses without activities.
+ * @param total the number of activities.
+ * @param earliestStartDate the earliest start date of the activities, {@code null} without activities.
+ * @param latestStartDate the latest start date of the activities, {@code null} without activities.
+ * @param earliestEndDate the earliest end date of the activities, {@code null} if none has one.
+ * @param latestEndDate the latest end date of the activities, {@code null} if none has one.
+ * @param completionRatio the share of {@link Status#COMPLETED} activities, {@code 0} without activities.
+ */
+public record ProjectStats(
+    Long projectId,
+    Map<Status, Long> countsByStatus,
+    long total,
+    Instant earliestStartDate,
+    Instant latestStartDate,
+    Instant earliestEndDate,
+    Instant latestEndDate,
+    double completionRatio
+) {
+    /**
+     * Build the stats of each project from its rows of counts per status.
+     *
+     * @param rows the rows, grouped by project and status.
+     * @return the stats of each project, in the order the projects first appear.
+     */
+    public static List<ProjectStats> of(List<ActivityStatusCount> rows) {
+        Map<Long, List<ActivityStatusCount>> byProject = new LinkedHashMap<>();
+        for (ActivityStatusCount row : rows) {
+            byProject.computeIfAbsent(row.projectId(), id -> new ArrayList<>()).add(row);
+        }
+        List<ProjectStats> stats = new ArrayList<>(byProject.size());
+        byProject.forEach((projectId, projectRows) -> stats.add(of(projectId, projectRows)));
+        return stats;
+    }
+
+    private static ProjectStats of(Long projectId, List<ActivityStatusCount> rows) {
+        Map<Status, Long> countsByStatus = new EnumMap<>(Status.class);
+        for (Status status : Status.values()) {
+            countsByStatus.put(status, 0L);
+        }
+        long total = 0;
+        for (ActivityStatusCount row : rows) {
+            if (row.status() != null) {
+                countsByStatus.put(row.status(), row.count());
+                total += row.count();
+            }
+        }
+        return new ProjectStats(
+            projectId,
+            countsByStatus,
+            total,
+            reduce(rows, ActivityStatusCount::earliestStartDate, BinaryOperator.minBy(Comparator.naturalOrder())),
+            reduce(rows, ActivityStatusCount::latestStartDate, BinaryOperator.maxBy(Comparator.naturalOrder())),
+            reduce(rows, ActivityStatusCount::earliestEndDate, BinaryOperator.minBy(Comparator.naturalOrder())),
+            reduce(rows, ActivityStatusCount::latestEndDate, BinaryOperator.maxBy(Comparator.naturalOrder())),
+            total == 0 ? 0 : (double) countsByStatus.get(Status.COMPLETED) / total
+        );
+    }
+
+    private static Instant reduce(List<ActivityStatusCount> rows, Function<ActivityStatusCount, Instant> field, BinaryOperator<Instant> operator) {
+        return rows.stream().map(field).filter(Objects::nonNull).reduce(operator).orElse(null);
+    }
+}
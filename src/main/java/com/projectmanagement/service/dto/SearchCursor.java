@@ -0,0 +1,55 @@
+package com.projectmanagement.service.dto;
+
+import com.projectmanagement.repository.projection.SearchHit;
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+/**
+ * The position of the last hit of a page of search results, which are ordered by rank descending, then type and id.
+ * <p>
+ * It is passed to clients as an opaque token, like the cursors of {@link CursorPage}.
+ *
+ * @param rank the rank of the last hit.
+ * @param type the type of the last hit.
+ * @param id the id of the last hit.
+ */
+public record SearchCursor(float rank, SearchHit.Type type, long id) {
+    private static final String PREFIX = "search:";
+
+    public static SearchCursor of(SearchHit hit) {
+        return new SearchCursor(hit.rank(), hit.type(), hit.id());
+    }
+
+    /**
+     * Encode the cursor as an opaque token.
+     *
+     * @return the token.
+     */
+    public String encode() {
+        String value = PREFIX + Float.floatToIntBits(rank) + ":" + type + ":" + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(value.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Decode a token into the position to seek after.
+     *
+     * @param cursor the token, may be {@code null} or blank for the first page.
+     * @return the position, or {@code null} for the first page.
+     * @throws IllegalArgumentException if the token is malformed.
+     */
+    public static SearchCursor decode(String cursor) {
+        if (cursor == null || cursor.isBlank()) {
+            return null;
+        }
+        String decoded = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+        String[] parts = decoded.startsWith(PREFIX) ? decoded.substring(PREFIX.length()).split(":") : new String[0];
+        if (parts.length != 3) {
+            throw new IllegalArgumentException("Invalid cursor : " + cursor);
+        }
+        try {
+            return new SearchCursor(Float.intBitsToFloat(Integer.parseInt(parts[0])), SearchHit.Type.valueOf(parts[1]), Long.parseLong(parts[2]));
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Invalid cursor : " + cursor, e);
+        }
+    }
+}
@@ -0,0 +1,86 @@
+package com.projectmanagement.web.filter;
+
+import com.projectmanagement.config.ApplicationProperties;
+import com.projectmanagement.config.SqlStatementStats;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.util.stream.Collectors;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+/**
+ * Counts the SQL statements executed by each HTTP request.
+ * <p>
+ * The count is published as the {@value #STATEMENTS_METRIC} distribution, per URI pattern. Requests that exceed
+ * the statement budget or whose statements take longer than the slow request threshold are logged with
+ * the fingerprints of their statements. The statistics are also kept in the {@value #STATS_ATTRIBUTE}
+ * request attribute, so tests can assert the statements of an endpoint.
+ */
+@Component
+public class SqlStatementBudgetFilter extends OncePerRequestFilter {
+
+    public static final String STATS_ATTRIBUTE = SqlStatementStats.class.getName();
+
+    public static final String STATEMENTS_METRIC = "http.server.requests.statements";
+
+    private static final Logger LOG = LoggerFactory.getLogger(SqlStatementBudgetFilter.class);
+
+    private final ApplicationProperties.Sql properties;
+
+    private final MeterRegistry meterRegistry;
+
+    public SqlStatementBudgetFilter(ApplicationProperties applicationProperties, MeterRegistry meterRegistry) {
+        this.properties = applicationProperties.getSql();
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+        throws ServletException, IOException {
+        SqlStatementStats stats = SqlStatementStats.start();
+        request.setAttribute(STATS_ATTRIBUTE, stats);
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            SqlStatementStats.stop();
+            report(request, stats);
+        }
+    }
+
+    private void report(HttpServletRequest request, SqlStatementStats stats) {
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        DistributionSummary.builder(STATEMENTS_METRIC)
+            .description("Number of SQL statements executed per request")
+            .tag("uri", pattern != null ? pattern.toString() : "UNKNOWN")
+            .register(meterRegistry)
+            .record(stats.getCount());
+
+        boolean overBudget = stats.getCount() > properties.getStatementBudget();
+        boolean slow = stats.getElapsedMillis() > properties.getSlowRequestThreshold().toMillis();
+        if (overBudget || slow) {
+            LOG.warn(
+                "{} {} executed {} statements in {} ms (budget {}, threshold {} ms) :\n{}",
+                request.getMethod(),
+                request.getRequestURI(),
+                stats.getCount(),
+                stats.getElapsedMillis(),
+                properties.getStatementBudget(),
+                properties.getSlowRequestThreshold().toMillis(),
+                stats
+                    .getFingerprints()
+                    .entrySet()
+                    .stream()
+                    .map(entry -> "  " + entry.getValue() + " x " + entry.getKey())
+                    .collect(Collectors.joining("\n"))
+            );
+        }
+    }
+}
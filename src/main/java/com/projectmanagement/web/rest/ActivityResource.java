@@ -1,29 +1,52 @@
 package com.projectmanagement.web.rest;
 
+import com.fasterxml.jackson.databind.JsonNode;
 import com.projectmanagement.domain.Activity;
+import com.projectmanagement.repository.projection.ActivitySummary;
 import com.projectmanagement.service.ActivityService;
+import com.projectmanagement.service.ActivityStatusQueue;
+import com.projectmanagement.service.dto.ActivityBatchResult;
+import com.projectmanagement.service.dto.ActivityCriteria;
+import com.projectmanagement.service.dto.ActivityStatusUpdate;
+import com.projectmanagement.service.dto.CursorPage;
+import com.projectmanagement.web.rest.util.ETags;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
-import org.springframework.data.domain.Page;
+import org.springframework.web.context.request.WebRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 
 import java.net.URI;
 import java.net.URISyntaxException;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 @RestController
 @RequestMapping("/api/activities")
 public class ActivityResource {
 
+    private static final String TOTAL_COUNT_HEADER = "X-Total-Count";
+
+    private static final int MAX_BATCH_SIZE = 1000;
+
+    private static final String MERGE_PATCH_JSON = "application/merge-patch+json";
+
     private final Logger log = LoggerFactory.getLogger(ActivityResource.class);
 
     private final ActivityService activityService;
 
-    public ActivityResource(ActivityService activityService) {
+    private final ActivityStatusQueue activityStatusQueue;
+
+    public ActivityResource(ActivityService activityService, ActivityStatusQueue activityStatusQueue) {
         this.activityService = activityService;
+        this.activityStatusQueue = activityStatusQueue;
     }
 
     /**
@@ -44,50 +67,230 @@ public class ActivityResource {
         return ResponseEntity.created(new URI("/api/activities/" + result.getId())).body(result);
     }
 
+    /**
+     * Create or update a batch of activities of a project.
+     *
+     * @param projectId the id of the project the activities belong to.
+     * @param activities the activities to create (without id) or update (with id).
+     * @return the ResponseEntity with status 200 (OK) and with body the result of each item,
+     * with status 400 (Bad Request) if the batch is larger than {@value #MAX_BATCH_SIZE} items,
+     * or with status 404 (Not Found) if the project is not found.
+     */
+    @PostMapping("/batch")
+    public ResponseEntity<List<ActivityBatchResult>> saveActivities(@RequestParam Long projectId, @RequestBody List<Activity> activities) {
+        log.debug("Request to save a batch of {} Activities of Project : {}", activities.size(), projectId);
+        if (activities.size() > MAX_BATCH_SIZE) {
+            return ResponseEntity.badRequest().body(null);
+        }
+        return activityService.saveAll(projectId, activities)
+                .map(ResponseEntity::ok)
+                .orElseGet(() -> ResponseEntity.notFound().build());
+    }
+
     /**
      * Updates an existing activity.
      *
      * @param id the id of the activity to update.
      * @param activity the activity to update.
      * @return the ResponseEntity with status 200 (OK) and with body the updated activity,
-     * or with status 404 (Not Found) if the activity is not found.
+     * with status 404 (Not Found) if the activity is not found,
+     * or with status 409 (Conflict) if the given version is stale.
      */
     @PutMapping("/{id}")
     public ResponseEntity<Activity> updateActivity(@PathVariable Long id, @RequestBody Activity activity) {
         log.debug("Request to update Activity : {}", activity);
-        if (!activityService.exists(id)) {
-            return ResponseEntity.notFound().build();
-        }
         activity.setId(id);
-        Activity result = activityService.save(activity);
-        return ResponseEntity.ok().body(result);
+        return activityService
+                .updateIfExists(activity)
+                .map(result -> ResponseEntity.ok().eTag(ETags.of(result.getVersion())).body(result))
+                .orElseGet(() -> ResponseEntity.notFound().build());
+    }
+
+    /**
+     * Partially update an existing activity with a JSON Merge Patch, e.g. {@code {"name": "New name"}}.
+     * <p>
+     * Only the description, status and dates may be patched; a {@code null} member clears the field. Only the patched columns
+     * are written. With an {@code If-Match} header, the activity is only patched if its entity tag matches.
+     *
+     * @param id the id of the activity to patch.
+     * @param patch the merge patch.
+     * @param ifMatch the entity tag the activity must have, if any.
+     * @return the ResponseEntity with status 200 (OK) and with body the patched activity,
+     * with status 400 (Bad Request) if the patch or the entity tag is invalid,
+     * with status 404 (Not Found) if the activity is not found,
+     * or with status 412 (Precondition Failed) if the entity tag does not match.
+     */
+    @PatchMapping(value = "/{id}", consumes = { MERGE_PATCH_JSON, MediaType.APPLICATION_JSON_VALUE })
+    public ResponseEntity<Activity> patchActivity(
+            @PathVariable Long id,
+            @RequestBody JsonNode patch,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        log.debug("Request to patch Activity : {}, {}", id, patch);
+        Optional<Activity> result;
+        try {
+            result = activityService.patch(id, patch, ETags.parseVersion(ifMatch));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(null);
+        } catch (OptimisticLockingFailureException e) {
+            if (ifMatch == null) {
+                throw e;
+            }
+            return ResponseEntity.status(HttpStatus.PRECONDITION_FAILED).build();
+        }
+        return result
+                .map(patched -> ResponseEntity.ok().eTag(ETags.of(patched.getVersion())).body(patched))
+                .orElseGet(() -> ResponseEntity.notFound().build());
+    }
+
+    /**
+     * Change the status of an activity asynchronously.
+     * <p>
+     * The change is queued and written with other queued changes within about a second; a later change
+     * of the same activity replaces it. The id is not checked: a change to an unknown activity is also
+     * answered with 202 and discarded when the queue is written.
+     *
+     * @param id the id of the activity.
+     * @param update the new status.
+     * @return the ResponseEntity with status 202 (Accepted),
+     * with status 400 (Bad Request) if the status is missing,
+     * or with status 429 (Too Many Requests) if the queue is full.
+     */
+    @PatchMapping("/{id}/status")
+    public ResponseEntity<Void> updateActivityStatus(@PathVariable Long id, @RequestBody ActivityStatusUpdate update) {
+        log.debug("Request to update status of Activity : {}, {}", id, update);
+        if (update.status() == null) {
+            return ResponseEntity.badRequest().build();
+        }
+        if (!activityStatusQueue.offer(id, update.status())) {
+            return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS).header(HttpHeaders.RETRY_AFTER, "1").build();
+        }
+        return ResponseEntity.accepted().build();
     }
 
     /**
      * Get all activities.
+     * <p>
+     * No count query is run; with {@code withTotal=true} an estimated total is returned
+     * in the {@value #TOTAL_COUNT_HEADER} header.
      *
      * @param pageable pagination information.
+     * @param withTotal whether to include an estimated total.
      * @return a page of activities.
      */
     @GetMapping
-    public ResponseEntity<List<Activity>> getAllActivities(Pageable pageable) {
+    public ResponseEntity<List<ActivitySummary>> getAllActivities(Pageable pageable, @RequestParam(defaultValue = "false") boolean withTotal) {
         log.debug("Request to get all Activities");
-        Page<Activity> page = activityService.findAll(pageable);
-        return ResponseEntity.ok().body(page.getContent());
+        Slice<ActivitySummary> slice = activityService.findSlice(pageable);
+        if (withTotal) {
+            return ResponseEntity.ok()
+                    .header(TOTAL_COUNT_HEADER, String.valueOf(activityService.estimateCount()))
+                    .body(slice.getContent());
+        }
+        return ResponseEntity.ok().body(slice.getContent());
+    }
+
+    /**
+     * Get all activities with only the fields listed in {@code fields}, e.g. {@code fields=id,status}.
+     * <p>
+     * Only the columns of those fields are selected, and only those fields are serialized.
+     *
+     * @param pageable pagination information, sortable on the requested fields.
+     * @param withTotal whether to include an estimated total in the {@value #TOTAL_COUNT_HEADER} header.
+     * @param fields the fields to include, among {@link ActivityService#FIELDS}.
+     * @return the ResponseEntity with status 200 (OK) and with body the activities,
+     * or with status 400 (Bad Request) if an unknown field or sort property is requested.
+     */
+    @GetMapping(params = "fields")
+    public ResponseEntity<List<Map<String, Object>>> getAllActivityFields(
+            Pageable pageable,
+            @RequestParam(defaultValue = "false") boolean withTotal,
+            @RequestParam List<String> fields) {
+        log.debug("Request to get all Activities with fields : {}", fields);
+        Slice<Map<String, Object>> slice;
+        try {
+            slice = activityService.findSlice(fields, pageable);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(null);
+        }
+        if (withTotal) {
+            return ResponseEntity.ok()
+                    .header(TOTAL_COUNT_HEADER, String.valueOf(activityService.estimateCount()))
+                    .body(slice.getContent());
+        }
+        return ResponseEntity.ok().body(slice.getContent());
+    }
+
+    /**
+     * Get activities using keyset pagination, without a count query.
+     *
+     * @param cursor the cursor returned with the previous page, absent for the first page.
+     * @param size the page size.
+     * @return the ResponseEntity with status 200 (OK) and with body the page of activities,
+     * or with status 400 (Bad Request) if the cursor is malformed.
+     */
+    @GetMapping("/cursor")
+    public ResponseEntity<CursorPage<ActivitySummary>> getAllActivitiesByCursor(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size) {
+        log.debug("Request to get Activities after cursor : {}", cursor);
+        try {
+            return ResponseEntity.ok().body(activityService.findAllAfter(cursor, CursorPage.clampSize(size)));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(null);
+        }
+    }
+
+    /**
+     * Search activities by project, status and start date window, in start date order, using keyset pagination.
+     *
+     * @param criteria the optional {@code projectId}, {@code status}, {@code from} (inclusive) and {@code to} (exclusive) filters.
+     * @param cursor the cursor returned with the previous page, absent for the first page.
+     * @param size the page size.
+     * @return the ResponseEntity with status 200 (OK) and with body the page of activities,
+     * or with status 400 (Bad Request) if the cursor is malformed or {@code from} is after {@code to}.
+     */
+    @GetMapping("/search")
+    public ResponseEntity<CursorPage<ActivitySummary>> searchActivities(
+            ActivityCriteria criteria,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size) {
+        log.debug("Request to search Activities : {}", criteria);
+        if (!criteria.hasValidWindow()) {
+            return ResponseEntity.badRequest().body(null);
+        }
+        try {
+            return ResponseEntity.ok().body(activityService.search(criteria, cursor, CursorPage.clampSize(size)));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(null);
+        }
     }
 
     /**
      * Get an activity by id.
      *
+     * The version of the activity is checked first, so an {@code If-None-Match} matching the current
+     * entity tag is answered with status 304 (Not Modified) without loading the activity.
+     *
      * @param id the id of the activity.
+     * @param request the current request.
      * @return the ResponseEntity with status 200 (OK) and with body the activity,
+     * with status 304 (Not Modified) if the activity has not changed,
      * or with status 404 (Not Found) if the activity is not found.
      */
     @GetMapping("/{id}")
-    public ResponseEntity<Activity> getActivity(@PathVariable Long id) {
+    public ResponseEntity<Activity> getActivity(@PathVariable Long id, WebRequest request) {
         log.debug("Request to get Activity : {}", id);
+        Optional<Long> version = activityService.findVersion(id);
+        if (version.isEmpty()) {
+            return ResponseEntity.notFound().build();
+        }
+        if (request.checkNotModified(ETags.of(version.get()))) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(ETags.of(version.get())).build();
+        }
         Optional<Activity> activity = activityService.findOne(id);
-        return activity.map(ResponseEntity::ok).orElseGet(() -> ResponseEntity.notFound().build());
+        return activity
+                .map(found -> ResponseEntity.ok().eTag(ETags.of(found.getVersion())).body(found))
+                .orElseGet(() -> ResponseEntity.notFound().build());
     }
 
     /**
@@ -99,10 +302,9 @@ public class ActivityResource {
     @DeleteMapping("/{id}")
     public ResponseEntity<Void> deleteActivity(@PathVariable Long id) {
         log.debug("Request to delete Activity : {}", id);
-        if (!activityService.exists(id)) {
+        if (!activityService.deleteIfExists(id)) {
             return ResponseEntity.notFound().build();
         }
-        activityService.delete(id);
         return ResponseEntity.noContent().build();
     }
 }
@@ -1,17 +1,29 @@
 package com.projectmanagement.web.rest;
 
+import com.fasterxml.jackson.databind.JsonNode;
 import com.projectmanagement.domain.Client;
+import com.projectmanagement.repository.projection.ClientSummary;
+import com.projectmanagement.service.ClientRollupService;
 import com.projectmanagement.service.ClientService;
+import com.projectmanagement.service.dto.ClientRollupSummary;
+import com.projectmanagement.service.dto.CursorPage;
+import com.projectmanagement.web.rest.util.ETags;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
-import org.springframework.data.domain.Page;
+import org.springframework.web.context.request.WebRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 
 import java.net.URI;
 import java.net.URISyntaxException;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 /**
@@ -21,12 +33,19 @@ import java.util.Optional;
 @RequestMapping("/api/clients")
 public class ClientResource {
 
+    private static final String TOTAL_COUNT_HEADER = "X-Total-Count";
+
+    private static final String MERGE_PATCH_JSON = "application/merge-patch+json";
+
     private final Logger log = LoggerFactory.getLogger(ClientResource.class);
 
     private final ClientService clientService;
 
-    public ClientResource(ClientService clientService) {
+    private final ClientRollupService clientRollupService;
+
+    public ClientResource(ClientService clientService, ClientRollupService clientRollupService) {
         this.clientService = clientService;
+        this.clientRollupService = clientRollupService;
     }
 
     /**
@@ -53,44 +72,186 @@ public class ClientResource {
      * @param id the id of the client to update.
      * @param client the client to update.
      * @return the ResponseEntity with status 200 (OK) and with body the updated client,
-     * or with status 404 (Not Found) if the client is not found.
+     * with status 404 (Not Found) if the client is not found,
+     * or with status 409 (Conflict) if the given version is stale.
      */
     @PutMapping("/{id}")
     public ResponseEntity<Client> updateClient(@PathVariable Long id, @RequestBody Client client) {
         log.debug("Request to update Client : {}", client);
-        if (!clientService.exists(id)) {
-            return ResponseEntity.notFound().build();
-        }
         client.setId(id);
-        Client result = clientService.save(client);
-        return ResponseEntity.ok().body(result);
+        return clientService
+                .updateIfExists(client)
+                .map(result -> ResponseEntity.ok().eTag(ETags.of(result.getVersion())).body(result))
+                .orElseGet(() -> ResponseEntity.notFound().build());
+    }
+
+    /**
+     * Partially update an existing client with a JSON Merge Patch, e.g. {@code {"name": "New name"}}.
+     * <p>
+     * Only the name, email and phone may be patched; a {@code null} member clears the field. Only the patched columns
+     * are written. With an {@code If-Match} header, the client is only patched if its entity tag matches.
+     *
+     * @param id the id of the client to patch.
+     * @param patch the merge patch.
+     * @param ifMatch the entity tag the client must have, if any.
+     * @return the ResponseEntity with status 200 (OK) and with body the patched client,
+     * with status 400 (Bad Request) if the patch or the entity tag is invalid,
+     * with status 404 (Not Found) if the client is not found,
+     * or with status 412 (Precondition Failed) if the entity tag does not match.
+     */
+    @PatchMapping(value = "/{id}", consumes = { MERGE_PATCH_JSON, MediaType.APPLICATION_JSON_VALUE })
+    public ResponseEntity<Client> patchClient(
+            @PathVariable Long id,
+            @RequestBody JsonNode patch,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        log.debug("Request to patch Client : {}, {}", id, patch);
+        Optional<Client> result;
+        try {
+            result = clientService.patch(id, patch, ETags.parseVersion(ifMatch));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(null);
+        } catch (OptimisticLockingFailureException e) {
+            if (ifMatch == null) {
+                throw e;
+            }
+            return ResponseEntity.status(HttpStatus.PRECONDITION_FAILED).build();
+        }
+        return result
+                .map(patched -> ResponseEntity.ok().eTag(ETags.of(patched.getVersion())).body(patched))
+                .orElseGet(() -> ResponseEntity.notFound().build());
     }
 
     /**
      * Get all clients.
+     * <p>
+     * No count query is run; with {@code withTotal=true} an estimated total is returned
+     * in the {@value #TOTAL_COUNT_HEADER} header.
      *
      * @param pageable pagination information.
+     * @param withTotal whether to include an estimated total.
      * @return a page of clients.
      */
     @GetMapping
-    public ResponseEntity<List<Client>> getAllClients(Pageable pageable) {
+    public ResponseEntity<List<ClientSummary>> getAllClients(Pageable pageable, @RequestParam(defaultValue = "false") boolean withTotal) {
         log.debug("Request to get all Clients");
-        Page<Client> page = clientService.findAll(pageable);
-        return ResponseEntity.ok().body(page.getContent());
+        Slice<ClientSummary> slice = clientService.findSlice(pageable);
+        if (withTotal) {
+            return ResponseEntity.ok()
+                    .header(TOTAL_COUNT_HEADER, String.valueOf(clientService.estimateCount()))
+                    .body(slice.getContent());
+        }
+        return ResponseEntity.ok().body(slice.getContent());
+    }
+
+    /**
+     * Get all clients with only the fields listed in {@code fields}, e.g. {@code fields=id,name,email}.
+     * <p>
+     * Only the columns of those fields are selected, and only those fields are serialized.
+     *
+     * @param pageable pagination information, sortable on the requested fields.
+     * @param withTotal whether to include an estimated total in the {@value #TOTAL_COUNT_HEADER} header.
+     * @param fields the fields to include, among {@link ClientService#FIELDS}.
+     * @return the ResponseEntity with status 200 (OK) and with body the clients,
+     * or with status 400 (Bad Request) if an unknown field or sort property is requested.
+     */
+    @GetMapping(params = "fields")
+    public ResponseEntity<List<Map<String, Object>>> getAllClientFields(
+            Pageable pageable,
+            @RequestParam(defaultValue = "false") boolean withTotal,
+            @RequestParam List<String> fields) {
+        log.debug("Request to get all Clients with fields : {}", fields);
+        Slice<Map<String, Object>> slice;
+        try {
+            slice = clientService.findSlice(fields, pageable);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(null);
+        }
+        if (withTotal) {
+            return ResponseEntity.ok()
+                    .header(TOTAL_COUNT_HEADER, String.valueOf(clientService.estimateCount()))
+                    .body(slice.getContent());
+        }
+        return ResponseEntity.ok().body(slice.getContent());
+    }
+
+    /**
+     * Get clients using keyset pagination, without a count query.
+     *
+     * @param cursor the cursor returned with the previous page, absent for the first page.
+     * @param size the page size.
+     * @return the ResponseEntity with status 200 (OK) and with body the page of clients,
+     * or with status 400 (Bad Request) if the cursor is malformed.
+     */
+    @GetMapping("/cursor")
+    public ResponseEntity<CursorPage<ClientSummary>> getAllClientsByCursor(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size) {
+        log.debug("Request to get Clients after cursor : {}", cursor);
+        try {
+            return ResponseEntity.ok().body(clientService.findAllAfter(cursor, CursorPage.clampSize(size)));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(null);
+        }
+    }
+
+    /**
+     * Suggest the clients whose name or email contains a text, for typeahead.
+     *
+     * @param prefix the text typed so far.
+     * @param size the maximum number of suggestions, defaults to 10 and is capped at 50.
+     * @return the ResponseEntity with status 200 (OK) and with body the suggestions,
+     * or with status 400 (Bad Request) if the text is blank.
+     */
+    @GetMapping("/suggest")
+    public ResponseEntity<List<ClientSummary>> suggestClients(@RequestParam String prefix, @RequestParam(defaultValue = "10") int size) {
+        log.debug("Request to suggest Clients matching : {}", prefix);
+        if (prefix.isBlank()) {
+            return ResponseEntity.badRequest().body(null);
+        }
+        return ResponseEntity.ok().body(clientService.suggest(prefix, Math.max(1, Math.min(size, ClientService.MAX_SUGGESTIONS))));
     }
 
     /**
      * Get a client by id.
      *
+     * The version of the client is checked first, so an {@code If-None-Match} matching the current
+     * entity tag is answered with status 304 (Not Modified) without loading the client.
+     *
      * @param id the id of the client.
+     * @param request the current request.
      * @return the ResponseEntity with status 200 (OK) and with body the client,
+     * with status 304 (Not Modified) if the client has not changed,
      * or with status 404 (Not Found) if the client is not found.
      */
     @GetMapping("/{id}")
-    public ResponseEntity<Client> getClient(@PathVariable Long id) {
+    public ResponseEntity<Client> getClient(@PathVariable Long id, WebRequest request) {
         log.debug("Request to get Client : {}", id);
+        Optional<Long> version = clientService.findVersion(id);
+        if (version.isEmpty()) {
+            return ResponseEntity.notFound().build();
+        }
+        if (request.checkNotModified(ETags.of(version.get()))) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(ETags.of(version.get())).build();
+        }
         Optional<Client> client = clientService.findOne(id);
-        return client.map(ResponseEntity::ok).orElseGet(() -> ResponseEntity.notFound().build());
+        return client
+                .map(found -> ResponseEntity.ok().eTag(ETags.of(found.getVersion())).body(found))
+                .orElseGet(() -> ResponseEntity.notFound().build());
+    }
+
+    /**
+     * Get the projects and activities of each status of a client, read from its rollup row.
+     *
+     * @param id the id of the client.
+     * @return the ResponseEntity with status 200 (OK) and with body the summary,
+     * or with status 404 (Not Found) if the client is not found.
+     */
+    @GetMapping("/{id}/summary")
+    public ResponseEntity<ClientRollupSummary> getClientSummary(@PathVariable Long id) {
+        log.debug("Request to get summary of Client : {}", id);
+        return clientRollupService.findSummary(id)
+                .map(ResponseEntity::ok)
+                .orElseGet(() -> ResponseEntity.notFound().build());
     }
 
     /**
@@ -102,10 +263,9 @@ public class ClientResource {
     @DeleteMapping("/{id}")
     public ResponseEntity<Void> deleteClient(@PathVariable Long id) {
         log.debug("Request to delete Client : {}", id);
-        if (!clientService.exists(id)) {
+        if (!clientService.deleteIfExists(id)) {
             return ResponseEntity.notFound().build();
         }
-        clientService.delete(id);
         return ResponseEntity.noContent().build();
     }
 }
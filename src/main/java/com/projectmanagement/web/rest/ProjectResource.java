@@ -1,28 +1,58 @@
 package com.projectmanagement.web.rest;
 
+import com.fasterxml.jackson.databind.JsonNode;
 import com.projectmanagement.domain.Project;
+import com.projectmanagement.repository.projection.ProjectSummary;
+import com.projectmanagement.service.ActivityService;
+import com.projectmanagement.service.ProjectDeletionService;
 import com.projectmanagement.service.ProjectService;
+import com.projectmanagement.service.dto.CursorPage;
+import com.projectmanagement.service.dto.ProjectDeletionStatus;
+import com.projectmanagement.service.dto.ProjectStats;
+import com.projectmanagement.web.rest.util.ETags;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
-import org.springframework.data.domain.Page;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 
 import java.net.URI;
 import java.net.URISyntaxException;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 
 @RestController
 @RequestMapping("/api/projects")
 public class ProjectResource {
 
+    private static final Set<String> EXPANSIONS = Set.of("activities", "client");
+
     private final Logger log = LoggerFactory.getLogger(ProjectResource.class);
 
+    private static final MediaType NDJSON = MediaType.parseMediaType("application/x-ndjson");
+
+    private static final String MERGE_PATCH_JSON = "application/merge-patch+json";
+
     private final ProjectService projectService;
 
-    public ProjectResource(ProjectService projectService) {
+    private final ActivityService activityService;
+
+    private final ProjectDeletionService projectDeletionService;
+
+    public ProjectResource(ProjectService projectService, ActivityService activityService, ProjectDeletionService projectDeletionService) {
         this.projectService = projectService;
+        this.activityService = activityService;
+        this.projectDeletionService = projectDeletionService;
     }
 
     /**
@@ -49,59 +79,273 @@ public class ProjectResource {
      * @param id the id of the project to update.
      * @param project the project to update.
      * @return the ResponseEntity with status 200 (OK) and with body the updated project,
-     * or with status 404 (Not Found) if the project is not found.
+     * with status 404 (Not Found) if the project is not found,
+     * or with status 409 (Conflict) if the given version is stale.
      */
     @PutMapping("/{id}")
     public ResponseEntity<Project> updateProject(@PathVariable Long id, @RequestBody Project project) {
         log.debug("Request to update Project : {}", project);
-        if (!projectService.exists(id)) {
-            return ResponseEntity.notFound().build();
-        }
         project.setId(id);
-        Project result = projectService.save(project);
-        return ResponseEntity.ok().body(result);
+        return projectService
+                .updateIfExists(project)
+                .map(result -> ResponseEntity.ok().eTag(ETags.of(result.getVersion())).body(result))
+                .orElseGet(() -> ResponseEntity.notFound().build());
+    }
+
+    /**
+     * Partially update an existing project with a JSON Merge Patch, e.g. {@code {"name": "New name"}}.
+     * <p>
+     * Only the name, description, status and dates may be patched; a {@code null} member clears the field. Only the patched columns
+     * are written. With an {@code If-Match} header, the project is only patched if its entity tag matches.
+     *
+     * @param id the id of the project to patch.
+     * @param patch the merge patch.
+     * @param ifMatch the entity tag the project must have, if any.
+     * @return the ResponseEntity with status 200 (OK) and with body the patched project,
+     * with status 400 (Bad Request) if the patch or the entity tag is invalid,
+     * with status 404 (Not Found) if the project is not found,
+     * or with status 412 (Precondition Failed) if the entity tag does not match.
+     */
+    @PatchMapping(value = "/{id}", consumes = { MERGE_PATCH_JSON, MediaType.APPLICATION_JSON_VALUE })
+    public ResponseEntity<Project> patchProject(
+            @PathVariable Long id,
+            @RequestBody JsonNode patch,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        log.debug("Request to patch Project : {}, {}", id, patch);
+        Optional<Project> result;
+        try {
+            result = projectService.patch(id, patch, ETags.parseVersion(ifMatch));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(null);
+        } catch (OptimisticLockingFailureException e) {
+            if (ifMatch == null) {
+                throw e;
+            }
+            return ResponseEntity.status(HttpStatus.PRECONDITION_FAILED).build();
+        }
+        return result
+                .map(patched -> ResponseEntity.ok().eTag(ETags.of(patched.getVersion())).body(patched))
+                .orElseGet(() -> ResponseEntity.notFound().build());
     }
 
     /**
-     * Get all projects.
+     * Get all projects, as summaries.
+     * <p>
+     * By default a slice is returned and no count query is run; with {@code withTotal=true}
+     * a page is returned whose total is an estimate.
      *
      * @param pageable pagination information.
-     * @return a page of projects.
+     * @param withTotal whether to include an estimated total.
+     * @return a slice of projects, or a page if a total was requested.
      */
     @GetMapping
-    public ResponseEntity<Page<Project>> getAllProjects(Pageable pageable) {
+    public ResponseEntity<Slice<ProjectSummary>> getAllProjects(Pageable pageable, @RequestParam(defaultValue = "false") boolean withTotal) {
         log.debug("Request to get all Projects");
-        Page<Project> page = projectService.findAll(pageable);
-        return ResponseEntity.ok().body(page);
+        return ResponseEntity.ok().body(withOptionalTotal(projectService.findSlice(pageable), pageable, withTotal));
+    }
+
+    /**
+     * Get all projects with only the fields listed in {@code fields}, e.g. {@code fields=id,name,status}.
+     * <p>
+     * Only the columns of those fields are selected, and only those fields are serialized.
+     *
+     * @param pageable pagination information, sortable on the requested fields.
+     * @param withTotal whether to include an estimated total.
+     * @param fields the fields to include, among {@link ProjectService#FIELDS}.
+     * @return a slice of projects, or a page if a total was requested,
+     * or with status 400 (Bad Request) if an unknown field or sort property is requested.
+     */
+    @GetMapping(params = { "fields", "!expand" })
+    public ResponseEntity<Slice<Map<String, Object>>> getAllProjectFields(
+            Pageable pageable,
+            @RequestParam(defaultValue = "false") boolean withTotal,
+            @RequestParam List<String> fields) {
+        log.debug("Request to get all Projects with fields : {}", fields);
+        try {
+            return ResponseEntity.ok().body(withOptionalTotal(projectService.findSlice(fields, pageable), pageable, withTotal));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(null);
+        }
+    }
+
+    /**
+     * Get all projects with the relationships listed in {@code expand} ({@code activities}, {@code client}).
+     *
+     * @param pageable pagination information.
+     * @param withTotal whether to include an estimated total.
+     * @param expand the relationships to include.
+     * @return a slice of projects, or a page if a total was requested,
+     * or with status 400 (Bad Request) if an unknown relationship is requested.
+     */
+    @GetMapping(params = "expand")
+    public ResponseEntity<Slice<Project>> getAllProjectsExpanded(
+            Pageable pageable,
+            @RequestParam(defaultValue = "false") boolean withTotal,
+            @RequestParam Set<String> expand) {
+        log.debug("Request to get all Projects with : {}", expand);
+        if (!EXPANSIONS.containsAll(expand)) {
+            return ResponseEntity.badRequest().body(null);
+        }
+        Slice<Project> slice = projectService.findSlice(pageable, expand.contains("activities"), expand.contains("client"));
+        return ResponseEntity.ok().body(withOptionalTotal(slice, pageable, withTotal));
+    }
+
+    /**
+     * Get projects using keyset pagination, without a count query.
+     *
+     * @param cursor the cursor returned with the previous page, absent for the first page.
+     * @param size the page size.
+     * @return the ResponseEntity with status 200 (OK) and with body the page of projects,
+     * or with status 400 (Bad Request) if the cursor is malformed.
+     */
+    @GetMapping("/cursor")
+    public ResponseEntity<CursorPage<ProjectSummary>> getAllProjectsByCursor(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size) {
+        log.debug("Request to get Projects after cursor : {}", cursor);
+        try {
+            return ResponseEntity.ok().body(projectService.findAllAfter(cursor, CursorPage.clampSize(size)));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(null);
+        }
+    }
+
+    /**
+     * Get the progress of the projects of a client: activities per status, date bounds and completion ratio.
+     *
+     * @param clientId the id of the client.
+     * @param cached whether the stats may be served from the cache, refreshed on activity writes.
+     * @return the ResponseEntity with status 200 (OK) and with body the stats of each project.
+     */
+    @GetMapping("/stats")
+    public ResponseEntity<List<ProjectStats>> getProjectStatsByClient(
+            @RequestParam Long clientId,
+            @RequestParam(defaultValue = "false") boolean cached) {
+        log.debug("Request to get stats of Projects of Client : {}", clientId);
+        return ResponseEntity.ok().body(activityService.findProjectStatsByClient(clientId, cached));
+    }
+
+    /**
+     * Get the progress of a project: activities per status, date bounds and completion ratio.
+     *
+     * @param id the id of the project.
+     * @param cached whether the stats may be served from the cache, refreshed on activity writes.
+     * @return the ResponseEntity with status 200 (OK) and with body the stats,
+     * or with status 404 (Not Found) if the project is not found.
+     */
+    @GetMapping("/{id}/stats")
+    public ResponseEntity<ProjectStats> getProjectStats(@PathVariable Long id, @RequestParam(defaultValue = "false") boolean cached) {
+        log.debug("Request to get stats of Project : {}", id);
+        return activityService.findProjectStats(id, cached)
+                .map(ResponseEntity::ok)
+                .orElseGet(() -> ResponseEntity.notFound().build());
     }
 
     /**
      * Get a project by id.
      *
+     * The version of the project, which every write of its activities increments, is checked first, so an
+     * {@code If-None-Match} matching the current entity tag is answered with status 304 (Not Modified) without
+     * loading the project.
+     *
      * @param id the id of the project.
+     * @param request the current request.
      * @return the ResponseEntity with status 200 (OK) and with body the project,
+     * with status 304 (Not Modified) if the project has not changed,
      * or with status 404 (Not Found) if the project is not found.
      */
     @GetMapping("/{id}")
-    public ResponseEntity<Project> getProject(@PathVariable Long id) {
+    public ResponseEntity<Project> getProject(@PathVariable Long id, WebRequest request) {
         log.debug("Request to get Project : {}", id);
+        Optional<Long> version = projectService.findVersion(id);
+        if (version.isEmpty()) {
+            return ResponseEntity.notFound().build();
+        }
+        if (request.checkNotModified(ETags.of(version.get()))) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(ETags.of(version.get())).build();
+        }
         Optional<Project> project = projectService.findOne(id);
-        return project.map(ResponseEntity::ok).orElseGet(() -> ResponseEntity.notFound().build());
+        return project
+                .map(found -> ResponseEntity.ok().eTag(ETags.of(found.getVersion())).body(found))
+                .orElseGet(() -> ResponseEntity.notFound().build());
+    }
+
+    /**
+     * Export all the activities of a project as newline-delimited JSON.
+     * <p>
+     * The response is streamed while the activities are read from the database.
+     *
+     * @param id the id of the project.
+     * @return the ResponseEntity with status 200 (OK) and with body the stream of activities,
+     * or with status 404 (Not Found) if the project is not found.
+     */
+    @GetMapping("/{id}/activities/export")
+    public ResponseEntity<StreamingResponseBody> exportActivities(@PathVariable Long id) {
+        log.debug("Request to export Activities of Project : {}", id);
+        if (!projectService.exists(id)) {
+            return ResponseEntity.notFound().build();
+        }
+        StreamingResponseBody body = out -> activityService.exportByProject(id, out);
+        return ResponseEntity.ok().contentType(NDJSON).body(body);
     }
 
     /**
      * Delete the project by id.
+     * <p>
+     * Its activities are deleted by a single statement in the same transaction; use {@code async=true}
+     * for projects with too many activities to delete at once.
      *
      * @param id the id of the project to delete.
-     * @return the ResponseEntity with status 204 (NO_CONTENT).
+     * @return the ResponseEntity with status 204 (NO_CONTENT),
+     * or with status 404 (Not Found) if the project is not found.
      */
     @DeleteMapping("/{id}")
     public ResponseEntity<Void> deleteProject(@PathVariable Long id) {
         log.debug("Request to delete Project : {}", id);
-        if (!projectService.exists(id)) {
+        if (!projectService.deleteIfExists(id)) {
             return ResponseEntity.notFound().build();
         }
-        projectService.delete(id);
         return ResponseEntity.noContent().build();
     }
+
+    /**
+     * Delete the project by id in the background, its activities being deleted in chunks.
+     *
+     * @param id the id of the project to delete.
+     * @return the ResponseEntity with status 202 (Accepted), the location of the job and with body its status,
+     * or with status 404 (Not Found) if the project is not found.
+     * @throws URISyntaxException if the Location URI syntax is incorrect.
+     */
+    @DeleteMapping(value = "/{id}", params = "async=true")
+    public ResponseEntity<ProjectDeletionStatus> deleteProjectAsync(@PathVariable Long id) throws URISyntaxException {
+        log.debug("Request to delete Project in the background : {}", id);
+        Optional<ProjectDeletionStatus> status = projectDeletionService.start(id);
+        if (status.isEmpty()) {
+            return ResponseEntity.notFound().build();
+        }
+        return ResponseEntity.accepted().location(new URI("/api/projects/deletions/" + status.get().jobId())).body(status.get());
+    }
+
+    /**
+     * Get the progress of a background project deletion.
+     *
+     * @param jobId the id of the deletion job.
+     * @return the ResponseEntity with status 200 (OK) and with body the status of the job,
+     * or with status 404 (Not Found) if the job is unknown or expired.
+     */
+    @GetMapping("/deletions/{jobId}")
+    public ResponseEntity<ProjectDeletionStatus> getProjectDeletion(@PathVariable String jobId) {
+        log.debug("Request to get Project deletion : {}", jobId);
+        return projectDeletionService
+                .findStatus(jobId)
+                .map(ResponseEntity::ok)
+                .orElseGet(() -> ResponseEntity.notFound().build());
+    }
+
+    private <T> Slice<T> withOptionalTotal(Slice<T> slice, Pageable pageable, boolean withTotal) {
+        if (!withTotal) {
+            return slice;
+        }
+        return new PageImpl<>(slice.getContent(), pageable, projectService.estimateCount());
+    }
 }
@@ -0,0 +1,50 @@
+package com.projectmanagement.web.rest;
+
+import com.projectmanagement.repository.projection.SearchHit;
+import com.projectmanagement.service.SearchService;
+import com.projectmanagement.service.dto.CursorPage;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+/**
+ * REST controller for searching projects and activities by keywords.
+ */
+@RestController
+@RequestMapping("/api/search")
+public class SearchResource {
+
+    private final Logger log = LoggerFactory.getLogger(SearchResource.class);
+
+    private final SearchService searchService;
+
+    public SearchResource(SearchService searchService) {
+        this.searchService = searchService;
+    }
+
+    /**
+     * Search the projects by name and description and the activities by description.
+     *
+     * @param q the words to search.
+     * @param cursor the cursor returned with the previous page, omitted for the first page.
+     * @param size the page size, defaults to 20 and is capped at 1000.
+     * @return the ResponseEntity with status 200 (OK) and with body the page of hits, most relevant first,
+     * or with status 400 (Bad Request) if the query is blank or the cursor is malformed.
+     */
+    @GetMapping
+    public ResponseEntity<CursorPage<SearchHit>> search(
+            @RequestParam String q,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size) {
+        log.debug("Request to search : {}", q);
+        if (q.isBlank()) {
+            return ResponseEntity.badRequest().body(null);
+        }
+        try {
+            return ResponseEntity.ok().body(searchService.search(q, cursor, CursorPage.clampSize(size)));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(null);
+        }
+    }
+}
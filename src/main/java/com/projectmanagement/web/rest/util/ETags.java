@@ -0,0 +1,43 @@
+package com.projectmanagement.web.rest.util;
+
+/**
+ * Utility class for entity tags.
+ * <p>
+ * Entity tags are strong validators derived from the {@code @Version} of an entity, which changes on every write.
+ */
+public final class ETags {
+
+    private ETags() {}
+
+    /**
+     * Build the entity tag of a version.
+     *
+     * @param version the version of the entity.
+     * @return the quoted entity tag.
+     */
+    public static String of(Long version) {
+        return "\"" + version + "\"";
+    }
+
+    /**
+     * Parse the version from the entity tag of an {@code If-Match} header.
+     *
+     * @param ifMatch the header value, may be {@code null} or {@code *}.
+     * @return the version, or {@code null} if any version matches.
+     * @throws IllegalArgumentException if the value is not a single strong entity tag of a version.
+     */
+    public static Long parseVersion(String ifMatch) {
+        if (ifMatch == null || ifMatch.isBlank() || "*".equals(ifMatch.trim())) {
+            return null;
+        }
+        String tag = ifMatch.trim();
+        if (tag.length() < 3 || !tag.startsWith("\"") || !tag.endsWith("\"")) {
+            throw new IllegalArgumentException("Invalid entity tag : " + ifMatch);
+        }
+        try {
+            return Long.valueOf(tag.substring(1, tag.length() - 1));
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Invalid entity tag : " + ifMatch, e);
+        }
+    }
+}
@@ -0,0 +1,35 @@
+-- H2 schema for tests and benchmarks; same tables and indexes as PostgreSQL, without partitioning.
+
+create sequence activity_seq start with 1 increment by 50;
+
+create table client (
+    id bigint generated by default as identity primary key,
+    version bigint default 0 not null,
+    name varchar(255) not null,
+    email varchar(255) not null,
+    phone varchar(255)
+);
+
+create table project (
+    id bigint generated by default as identity primary key,
+    version bigint default 0 not null,
+    name varchar(255) not null,
+    description varchar(255),
+    status enum ('COMPLETED', 'IN_PROGRESS', 'OPEN', 'PENDING') not null,
+    start_date timestamp(6) with time zone not null,
+    end_date timestamp(6) with time zone,
+    client_id bigint not null references client (id)
+);
+
+create table activity (
+    id bigint not null primary key,
+    version bigint default 0 not null,
+    description varchar(255) not null,
+    status enum ('COMPLETED', 'IN_PROGRESS', 'OPEN', 'PENDING') not null,
+    start_date timestamp(6) with time zone not null,
+    end_date timestamp(6) with time zone,
+    project_id bigint not null references project (id)
+);
+
+create index idx_project_client_id on project (client_id);
+create index idx_activity_project_status_start_date on activity (project_id, status, start_date);
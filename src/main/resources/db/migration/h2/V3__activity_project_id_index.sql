@@ -0,0 +1,2 @@
+-- Same as the PostgreSQL V8: serves the keyset pages of the activities of a project in id order.
+create index idx_activity_project_id_id on activity (project_id, id);
@@ -0,0 +1,41 @@
+-- Schema previously created by hibernate.ddl-auto=update. Existing databases are baselined below this
+-- version (spring.flyway.baseline-version=0), so this migration always runs: it creates the tables of an
+-- empty database and brings a ddl-auto schema, without versions nor activity_seq, up to date.
+
+create table if not exists client (
+    id bigint generated by default as identity primary key,
+    version bigint default 0 not null,
+    name varchar(255) not null,
+    email varchar(255) not null,
+    phone varchar(255)
+);
+
+create table if not exists project (
+    id bigint generated by default as identity primary key,
+    version bigint default 0 not null,
+    name varchar(255) not null,
+    description varchar(255),
+    status varchar(255) not null check (status in ('OPEN', 'IN_PROGRESS', 'COMPLETED', 'PENDING')),
+    start_date timestamp(6) with time zone not null,
+    end_date timestamp(6) with time zone,
+    client_id bigint not null references client (id)
+);
+
+create table if not exists activity (
+    id bigint not null primary key,
+    version bigint default 0 not null,
+    description varchar(255) not null,
+    status varchar(255) not null check (status in ('OPEN', 'IN_PROGRESS', 'COMPLETED', 'PENDING')),
+    start_date timestamp(6) with time zone not null,
+    end_date timestamp(6) with time zone,
+    project_id bigint not null references project (id)
+);
+
+alter table client add column if not exists version bigint default 0 not null;
+alter table project add column if not exists version bigint default 0 not null;
+alter table activity add column if not exists version bigint default 0 not null;
+
+-- Activity ids were an identity column; they now come from a pooled sequence, which hands out the 50 ids
+-- up to the value it returns, so the next value must be at least 50 above the existing ids.
+create sequence if not exists activity_seq start with 1 increment by 50;
+select setval('activity_seq', (select coalesce(max(id), 0) from activity) + 50, false);
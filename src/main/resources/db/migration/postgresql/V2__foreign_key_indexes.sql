@@ -0,0 +1,3 @@
+-- PostgreSQL does not index foreign keys. activity.project_id is covered by the leading column
+-- of the (project_id, status, start_date) index created with the partitioned table in V3.
+create index if not exists idx_project_client_id on project (client_id);
@@ -0,0 +1,51 @@
+-- Range-partition activity by month of start_date, so queries on a date window only scan the
+-- matching partitions. The primary key of a partitioned table must contain the partition key.
+
+drop index if exists idx_activity_project_status_start_date;
+alter table activity rename to activity_unpartitioned;
+
+create table activity (
+    id bigint not null,
+    version bigint default 0 not null,
+    description varchar(255) not null,
+    status varchar(255) not null check (status in ('OPEN', 'IN_PROGRESS', 'COMPLETED', 'PENDING')),
+    start_date timestamp(6) with time zone not null,
+    end_date timestamp(6) with time zone,
+    project_id bigint not null references project (id),
+    primary key (id, start_date)
+) partition by range (start_date);
+
+-- Rows outside of the monthly partitions, including existing history
+create table activity_default partition of activity default;
+
+create index idx_activity_project_status_start_date on activity (project_id, status, start_date);
+
+-- Create the monthly partitions from the current month to months_ahead months later.
+-- Called at startup and daily by ActivityPartitionService.
+create or replace function create_activity_partitions(months_ahead integer) returns void
+language plpgsql as $$
+declare
+    month_start date;
+    partition_name text;
+begin
+    for i in 0..months_ahead loop
+        month_start := (date_trunc('month', now()) + make_interval(months => i))::date;
+        partition_name := format('activity_%s', to_char(month_start, 'YYYY_MM'));
+        if to_regclass(partition_name) is null then
+            execute format(
+                'create table %I partition of activity for values from (%L) to (%L)',
+                partition_name,
+                month_start,
+                (month_start + interval '1 month')::date
+            );
+        end if;
+    end loop;
+end;
+$$;
+
+select create_activity_partitions(3);
+
+insert into activity (id, version, description, status, start_date, end_date, project_id)
+select id, version, description, status, start_date, end_date, project_id from activity_unpartitioned;
+
+drop table activity_unpartitioned;
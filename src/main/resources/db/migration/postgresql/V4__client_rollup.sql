@@ -0,0 +1,37 @@
+-- Projects and activities of each status per client, maintained by ClientRollupService on every write.
+
+create table client_rollup (
+    client_id bigint not null primary key references client (id) on delete cascade,
+    projects_open bigint default 0 not null,
+    projects_in_progress bigint default 0 not null,
+    projects_completed bigint default 0 not null,
+    projects_pending bigint default 0 not null,
+    activities_open bigint default 0 not null,
+    activities_in_progress bigint default 0 not null,
+    activities_completed bigint default 0 not null,
+    activities_pending bigint default 0 not null,
+    last_activity_date timestamp(6) with time zone,
+    refreshed_at timestamp(6) with time zone not null
+);
+
+insert into client_rollup (
+    client_id,
+    projects_open, projects_in_progress, projects_completed, projects_pending,
+    activities_open, activities_in_progress, activities_completed, activities_pending,
+    last_activity_date, refreshed_at
+)
+select c.id,
+    count(distinct case when p.status = 'OPEN' then p.id end),
+    count(distinct case when p.status = 'IN_PROGRESS' then p.id end),
+    count(distinct case when p.status = 'COMPLETED' then p.id end),
+    count(distinct case when p.status = 'PENDING' then p.id end),
+    count(case when a.status = 'OPEN' then a.id end),
+    count(case when a.status = 'IN_PROGRESS' then a.id end),
+    count(case when a.status = 'COMPLETED' then a.id end),
+    count(case when a.status = 'PENDING' then a.id end),
+    max(a.start_date),
+    current_timestamp
+from client c
+left join project p on p.client_id = c.id
+left join activity a on a.project_id = p.id
+group by c.id;
@@ -0,0 +1,14 @@
+-- Full-text search over project names and descriptions and activity descriptions, used by SearchRepository.
+-- The 'simple' configuration neither stems nor drops stop words, as the texts are written in several languages.
+
+alter table project add column search_vector tsvector generated always as (
+    setweight(to_tsvector('simple', coalesce(name, '')), 'A') || setweight(to_tsvector('simple', coalesce(description, '')), 'B')
+) stored;
+
+create index idx_project_search_vector on project using gin (search_vector);
+
+alter table activity add column search_vector tsvector generated always as (
+    to_tsvector('simple', coalesce(description, ''))
+) stored;
+
+create index idx_activity_search_vector on activity using gin (search_vector);
@@ -0,0 +1,7 @@
+-- Trigram indexes serving the LIKE '%text%' conditions of the client typeahead (ClientRepository.findSummariesMatching).
+-- pg_trgm ships with the PostgreSQL contrib modules; creating it requires the CREATE privilege on the database.
+
+create extension if not exists pg_trgm;
+
+create index idx_client_name_trgm on client using gin (lower(name) gin_trgm_ops);
+create index idx_client_email_trgm on client using gin (lower(email) gin_trgm_ops);
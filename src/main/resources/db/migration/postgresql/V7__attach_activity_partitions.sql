@@ -0,0 +1,45 @@
+-- Activities planned more than months_ahead months ahead are stored in activity_default. Creating the
+-- partition of their month with "create table ... partition of" then fails, because the default partition
+-- holds rows of the new range. Create the partition on its own, move the rows of its month out of the
+-- default partition, and only then attach it.
+create or replace function create_activity_partitions(months_ahead integer) returns void
+language plpgsql as $$
+declare
+    month_start date;
+    month_end date;
+    partition_name text;
+    stored_columns text;
+begin
+    -- Generated columns, such as search_vector, are computed by the partition and cannot be inserted
+    select string_agg(quote_ident(attname), ', ' order by attnum) into stored_columns
+    from pg_attribute
+    where attrelid = 'activity'::regclass and attnum > 0 and not attisdropped and attgenerated = '';
+
+    for i in 0..months_ahead loop
+        month_start := (date_trunc('month', now()) + make_interval(months => i))::date;
+        month_end := (month_start + interval '1 month')::date;
+        partition_name := format('activity_%s', to_char(month_start, 'YYYY_MM'));
+        if to_regclass(partition_name) is null then
+            execute format('create table %I (like activity including defaults including constraints including generated)', partition_name);
+            -- Keeps rows of the month from being inserted into the default partition until it is attached
+            lock table activity_default in access exclusive mode;
+            execute format(
+                'with moved as (delete from activity_default where start_date >= %L and start_date < %L returning %s) '
+                'insert into %I (%s) select %s from moved',
+                month_start,
+                month_end,
+                stored_columns,
+                partition_name,
+                stored_columns,
+                stored_columns
+            );
+            execute format(
+                'alter table activity attach partition %I for values from (%L) to (%L)',
+                partition_name,
+                month_start,
+                month_end
+            );
+        end if;
+    end loop;
+end;
+$$;
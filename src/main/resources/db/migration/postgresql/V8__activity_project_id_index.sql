@@ -0,0 +1,4 @@
+-- Keyset pages of the activities of a project (the NDJSON export and the chunked deletion) seek on
+-- project_id = ? and id > ? in id order. The (project_id, status, start_date) index cannot serve that
+-- order, so every page would sort or scan all the remaining activities of the project.
+create index if not exists idx_activity_project_id_id on activity (project_id, id);
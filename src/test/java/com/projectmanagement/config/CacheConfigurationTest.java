@@ -0,0 +1,194 @@
+package com.projectmanagement.config;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.Instant;
+import java.util.Map;
+
+import org.hibernate.Cache;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import com.projectmanagement.domain.Activity;
+import com.projectmanagement.domain.Client;
+import com.projectmanagement.domain.Project;
+import com.projectmanagement.domain.enumeration.Status;
+import com.projectmanagement.repository.projection.ClientSummary;
+import com.projectmanagement.service.ActivityService;
+import com.projectmanagement.service.ClientService;
+import com.projectmanagement.service.ProjectService;
+
+import jakarta.persistence.EntityManagerFactory;
+
+@SpringBootTest(properties = {
+        "spring.jpa.properties.hibernate.cache.use_second_level_cache=true",
+        "spring.jpa.properties.hibernate.cache.use_query_cache=true",
+        "spring.jpa.properties.hibernate.cache.region.factory_class=jcache",
+        "spring.jpa.properties.hibernate.cache.auto_evict_collection_cache=true",
+        "spring.jpa.properties.hibernate.javax.cache.missing_cache_strategy=fail",
+        "spring.jpa.properties.hibernate.generate_statistics=true"
+})
+class CacheConfigurationTest {
+
+    @Autowired
+    private ClientService clientService;
+
+    @Autowired
+    private ProjectService projectService;
+
+    @Autowired
+    private ActivityService activityService;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    }
+
+    @Test
+    void shouldServeRepeatedReadsFromSecondLevelCache() {
+        Client client = new Client();
+        client.setName("Cached Client");
+        client.setEmail("cached@example.com");
+        Long id = clientService.save(client).getId();
+        entityManagerFactory.getCache().evictAll();
+        statistics.clear();
+
+        clientService.findOne(id);
+        long statementsAfterFirstRead = statistics.getPrepareStatementCount();
+        clientService.findOne(id);
+
+        assertThat(statementsAfterFirstRead).isEqualTo(1);
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+        assertThat(statistics.getSecondLevelCacheHitCount()).isEqualTo(1);
+    }
+
+    @Test
+    void shouldRefreshCacheOnUpdate() {
+        Client client = new Client();
+        client.setName("Before");
+        client.setEmail("before@example.com");
+        Client saved = clientService.save(client);
+        clientService.findOne(saved.getId());
+
+        saved.setName("After");
+        clientService.update(saved);
+
+        assertThat(clientService.findOne(saved.getId())).hasValueSatisfying(found -> assertThat(found.getName()).isEqualTo("After"));
+    }
+
+    @Test
+    void shouldEvictCachedProjectStatsOnActivityWrite() {
+        Client client = new Client();
+        client.setName("Stats Client");
+        client.setEmail("stats@example.com");
+        clientService.save(client);
+        Project project = new Project();
+        project.setName("Stats Project");
+        project.setStatus(Status.OPEN);
+        project.setStartDate(Instant.now());
+        project.setClient(client);
+        Long projectId = projectService.save(project).getId();
+
+        assertThat(activityService.findProjectStats(projectId, true)).hasValueSatisfying(stats -> assertThat(stats.total()).isZero());
+
+        Activity activity = new Activity();
+        activity.setDescription("Counted");
+        activity.setStatus(Status.COMPLETED);
+        activity.setStartDate(Instant.now());
+        activity.setProject(project);
+        activityService.save(activity);
+
+        assertThat(activityService.findProjectStats(projectId, true)).hasValueSatisfying(stats -> {
+            assertThat(stats.total()).isEqualTo(1);
+            assertThat(stats.completionRatio()).isEqualTo(1.0);
+        });
+    }
+
+    @Test
+    void shouldEvictCachedSuggestionsOnClientWrite() {
+        Client client = new Client();
+        client.setName("Typeahead Zed");
+        client.setEmail("zed@example.com");
+        clientService.save(client);
+
+        assertThat(clientService.suggest("Typeahead", 10)).hasSize(1);
+        assertThat(clientService.suggest(" typeahead", 10)).hasSize(1);
+
+        Client other = new Client();
+        other.setName("Typeahead Amy");
+        other.setEmail("amy@example.com");
+        clientService.save(other);
+
+        assertThat(clientService.suggest("typeahead", 10))
+            .extracting(ClientSummary::name)
+            .containsExactly("Typeahead Amy", "Typeahead Zed");
+    }
+
+    @Test
+    void shouldKeepOtherActivitiesCachedWhenStatusesAreFlushed() {
+        Client client = new Client();
+        client.setName("Flush Client");
+        client.setEmail("flush@example.com");
+        clientService.save(client);
+        Project project = new Project();
+        project.setName("Flush Project");
+        project.setStatus(Status.OPEN);
+        project.setStartDate(Instant.now());
+        project.setClient(client);
+        Long projectId = projectService.save(project).getId();
+        Long[] ids = new Long[2];
+        for (int i = 0; i < ids.length; i++) {
+            Activity activity = new Activity();
+            activity.setDescription("Flushed " + i);
+            activity.setStatus(Status.OPEN);
+            activity.setStartDate(Instant.now());
+            activity.setProject(project);
+            ids[i] = activityService.save(activity).getId();
+        }
+        projectService.findOne(projectId);
+
+        assertThat(activityService.updateStatuses(Map.of(ids[0], Status.COMPLETED))).isEqualTo(1);
+
+        Cache cache = entityManagerFactory.unwrap(SessionFactory.class).getCache();
+        assertThat(cache.containsEntity(Activity.class, ids[1])).isTrue();
+        assertThat(activityService.findOne(ids[0])).hasValueSatisfying(found -> assertThat(found.getStatus()).isEqualTo(Status.COMPLETED));
+    }
+
+    @Test
+    void shouldLoadTheActivitiesOfACachedProjectInOneQuery() {
+        Client client = new Client();
+        client.setName("Batch Client");
+        client.setEmail("batch@example.com");
+        clientService.save(client);
+        Project project = new Project();
+        project.setName("Batch Project");
+        project.setStatus(Status.OPEN);
+        project.setStartDate(Instant.now());
+        project.setClient(client);
+        Long projectId = projectService.save(project).getId();
+        for (int i = 0; i < 5; i++) {
+            Activity activity = new Activity();
+            activity.setDescription("Batched " + i);
+            activity.setStatus(Status.OPEN);
+            activity.setStartDate(Instant.now());
+            activity.setProject(project);
+            activityService.save(activity);
+        }
+        projectService.findOne(projectId);
+        entityManagerFactory.getCache().evict(Activity.class);
+        statistics.clear();
+
+        assertThat(projectService.findOne(projectId)).hasValueSatisfying(found -> assertThat(found.getActivities()).hasSize(5));
+
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+    }
+}
@@ -0,0 +1,38 @@
+package com.projectmanagement.config;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.entry;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+class SqlStatementStatsTest {
+
+    @AfterEach
+    void tearDown() {
+        SqlStatementStats.stop();
+    }
+
+    @Test
+    void shouldFingerprintStatementsWithoutLiterals() {
+        assertThat(SqlStatementStats.fingerprint("select * from activity  where id in (1, 2,3) and description = 'it''s'"))
+            .isEqualTo("select * from activity where id in (?...) and description = ?");
+    }
+
+    @Test
+    void shouldCountStatementsOfCurrentThread() {
+        SqlStatementStats stats = SqlStatementStats.start();
+
+        stats.record("select * from project where id = ?", 2);
+        stats.record("select * from project where id = ?", 3);
+        stats.record("select * from client", 1);
+
+        assertThat(SqlStatementStats.current()).isSameAs(stats);
+        assertThat(stats.getCount()).isEqualTo(3);
+        assertThat(stats.getElapsedMillis()).isEqualTo(6);
+        assertThat(stats.getFingerprints()).containsExactly(
+            entry("select * from project where id = ?", 2),
+            entry("select * from client", 1)
+        );
+    }
+}
@@ -1,6 +1,7 @@
 package com.projectmanagement.repository;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
 
 import java.time.Instant;
 import java.time.temporal.ChronoUnit;
@@ -9,16 +10,24 @@ import java.util.List;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import java.util.ArrayList;
 
 import com.projectmanagement.domain.Activity;
 import com.projectmanagement.domain.Client;
 import com.projectmanagement.domain.Project;
 import com.projectmanagement.domain.enumeration.Status;
+import com.projectmanagement.repository.projection.ActivityStatusCount;
+import com.projectmanagement.repository.projection.ActivitySummary;
 
 import jakarta.persistence.EntityManager;
 import jakarta.persistence.PersistenceContext;
 
-@DataJpaTest
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
 class ActivityRepositoryTest {
 
     @Autowired
@@ -69,4 +78,199 @@ class ActivityRepositoryTest {
         assertThat(activities.get(0).getProject().getName()).isEqualTo("Project Alpha");
         assertThat(activities.get(0).getProject().getClient().getName()).isEqualTo("Client A");
     }
+
+    @Test
+    void shouldSeekActivitiesAfterId() {
+        Client client = new Client();
+        client.setName("Client B");
+        client.setEmail("clientb@example.com");
+        clientRepository.save(client);
+
+        Project project = new Project();
+        project.setName("Project Gamma");
+        project.setStatus(Status.OPEN);
+        project.setStartDate(Instant.now());
+        project.setClient(client);
+        projectRepository.save(project);
+
+        for (int i = 0; i < 5; i++) {
+            Activity activity = new Activity();
+            activity.setDescription("Activity " + i);
+            activity.setStatus(Status.OPEN);
+            activity.setStartDate(Instant.now());
+            activity.setProject(project);
+            activityRepository.save(activity);
+        }
+        entityManager.flush();
+
+        List<ActivitySummary> firstPage = activityRepository.findSummariesAfter(0L, Limit.of(2));
+        List<ActivitySummary> secondPage = activityRepository.findSummariesAfter(firstPage.get(1).id(), Limit.of(2));
+
+        assertThat(firstPage).extracting(ActivitySummary::description).containsExactly("Activity 0", "Activity 1");
+        assertThat(secondPage).extracting(ActivitySummary::description).containsExactly("Activity 2", "Activity 3");
+        assertThat(secondPage).extracting(ActivitySummary::projectId).containsOnly(project.getId());
+
+        assertThat(activityRepository.findSummariesByProjectIdAfter(project.getId(), firstPage.get(1).id(), Limit.of(10)))
+                .extracting(ActivitySummary::description)
+                .containsExactly("Activity 2", "Activity 3", "Activity 4");
+    }
+
+    @Test
+    void shouldBatchInsertsOfManyActivities() {
+        Client client = new Client();
+        client.setName("Client C");
+        client.setEmail("clientc@example.com");
+        clientRepository.save(client);
+
+        Project project = new Project();
+        project.setName("Project Delta");
+        project.setStatus(Status.OPEN);
+        project.setStartDate(Instant.now());
+        project.setClient(client);
+        projectRepository.save(project);
+        entityManager.flush();
+
+        List<Activity> activities = new ArrayList<>();
+        for (int i = 0; i < 100; i++) {
+            Activity activity = new Activity();
+            activity.setDescription("Imported " + i);
+            activity.setStatus(Status.OPEN);
+            activity.setStartDate(Instant.now());
+            activity.setProject(project);
+            activities.add(activity);
+        }
+
+        Statistics statistics = entityManager.getEntityManagerFactory().unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        activityRepository.saveAll(activities);
+        entityManager.flush();
+
+        // 2 pooled sequence calls + 2 insert batches of 50, instead of 100 inserts
+        assertThat(statistics.getPrepareStatementCount()).isLessThanOrEqualTo(4);
+        assertThat(activityRepository.count()).isEqualTo(100);
+    }
+
+    @Test
+    void shouldFilterActivitiesByProjectStatusAndStartDate() {
+        Client client = new Client();
+        client.setName("Client D");
+        client.setEmail("clientd@example.com");
+        clientRepository.save(client);
+
+        Project project = new Project();
+        project.setName("Project Epsilon");
+        project.setStatus(Status.OPEN);
+        project.setStartDate(Instant.now());
+        project.setClient(client);
+        projectRepository.save(project);
+
+        Instant start = Instant.parse("2024-01-01T00:00:00Z");
+        Status[] statuses = { Status.IN_PROGRESS, Status.OPEN, Status.IN_PROGRESS, Status.IN_PROGRESS };
+        for (int i = 0; i < statuses.length; i++) {
+            Activity activity = new Activity();
+            activity.setDescription("Filtered " + i);
+            activity.setStatus(statuses[i]);
+            activity.setStartDate(start.plus(i, ChronoUnit.DAYS));
+            activity.setProject(project);
+            activityRepository.save(activity);
+        }
+        entityManager.flush();
+
+        List<Activity> activities = activityRepository.findAll(
+            Specification.where(ActivitySpecifications.hasProject(project.getId()))
+                .and(ActivitySpecifications.hasStatus(Status.IN_PROGRESS))
+                .and(ActivitySpecifications.startsFrom(start))
+                .and(ActivitySpecifications.startsBefore(start.plus(3, ChronoUnit.DAYS))),
+            Sort.by("id")
+        );
+
+        assertThat(activities).extracting(Activity::getDescription).containsExactly("Filtered 0", "Filtered 2");
+    }
+
+    @Test
+    void shouldSeekSearchResultsByStartDateThenId() {
+        Client client = new Client();
+        client.setName("Client Seek");
+        client.setEmail("seek@example.com");
+        clientRepository.save(client);
+
+        Project project = new Project();
+        project.setName("Project Seek");
+        project.setStatus(Status.OPEN);
+        project.setStartDate(Instant.now());
+        project.setClient(client);
+        projectRepository.save(project);
+
+        Instant start = Instant.parse("2024-01-01T00:00:00Z");
+        int[] days = { 2, 0, 1, 1 };
+        for (int i = 0; i < days.length; i++) {
+            Activity activity = new Activity();
+            activity.setDescription("Seek " + i);
+            activity.setStatus(Status.IN_PROGRESS);
+            activity.setStartDate(start.plus(days[i], ChronoUnit.DAYS));
+            activity.setProject(project);
+            activityRepository.save(activity);
+        }
+        entityManager.flush();
+        Specification<Activity> filters = Specification.where(ActivitySpecifications.hasProject(project.getId()))
+            .and(ActivitySpecifications.hasStatus(Status.IN_PROGRESS));
+
+        List<ActivitySummary> first = activityRepository.findSummariesAfter(filters, null, null, 2);
+        ActivitySummary last = first.get(1);
+        List<ActivitySummary> next = activityRepository.findSummariesAfter(filters, last.startDate(), last.id(), 2);
+
+        assertThat(first).extracting(ActivitySummary::description).containsExactly("Seek 1", "Seek 2");
+        assertThat(next).extracting(ActivitySummary::description).containsExactly("Seek 3", "Seek 0");
+        assertThat(next.get(0).projectId()).isEqualTo(project.getId());
+    }
+
+    @Test
+    void shouldCountActivitiesByStatusForEachProjectOfClient() {
+        Client client = new Client();
+        client.setName("Client E");
+        client.setEmail("cliente@example.com");
+        clientRepository.save(client);
+
+        Project busy = new Project();
+        busy.setName("Project Zeta");
+        busy.setStatus(Status.OPEN);
+        busy.setStartDate(Instant.now());
+        busy.setClient(client);
+        projectRepository.save(busy);
+
+        Project empty = new Project();
+        empty.setName("Project Eta");
+        empty.setStatus(Status.OPEN);
+        empty.setStartDate(Instant.now());
+        empty.setClient(client);
+        projectRepository.save(empty);
+
+        Instant start = Instant.parse("2024-01-01T00:00:00Z");
+        Status[] statuses = { Status.COMPLETED, Status.OPEN, Status.COMPLETED };
+        for (int i = 0; i < statuses.length; i++) {
+            Activity activity = new Activity();
+            activity.setDescription("Counted " + i);
+            activity.setStatus(statuses[i]);
+            activity.setStartDate(start.plus(i, ChronoUnit.DAYS));
+            activity.setProject(busy);
+            activityRepository.save(activity);
+        }
+        entityManager.flush();
+
+        List<ActivityStatusCount> rows = activityRepository.countByStatusForClient(client.getId());
+
+        assertThat(rows)
+            .filteredOn(row -> row.projectId().equals(busy.getId()))
+            .extracting(ActivityStatusCount::status, ActivityStatusCount::count)
+            .containsExactlyInAnyOrder(tuple(Status.COMPLETED, 2L), tuple(Status.OPEN, 1L));
+        assertThat(rows)
+            .filteredOn(row -> row.projectId().equals(empty.getId()))
+            .extracting(ActivityStatusCount::status, ActivityStatusCount::count)
+            .containsExactly(tuple(null, 0L));
+        assertThat(activityRepository.countByStatusForProject(busy.getId()))
+            .extracting(ActivityStatusCount::earliestStartDate)
+            .containsExactlyInAnyOrder(start, start.plus(1, ChronoUnit.DAYS));
+        assertThat(activityRepository.countByStatusForProject(-1L)).isEmpty();
+    }
 }
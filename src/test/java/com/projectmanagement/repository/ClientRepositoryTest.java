@@ -7,10 +7,15 @@ import java.util.List;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
 import jakarta.persistence.EntityManager;
 import jakarta.persistence.PersistenceContext;
 
 import com.projectmanagement.domain.Client;
+import com.projectmanagement.repository.projection.ClientSummary;
 
 @DataJpaTest
 class ClientRepositoryTest {
@@ -37,4 +42,39 @@ class ClientRepositoryTest {
         assertThat(clients.get(0).getName()).isEqualTo("John Doe");
         assertThat(clients.get(0).getEmail()).isEqualTo("john@example.com");
     }
+
+    @Test
+    void shouldReadSortedSliceOfSummaries() {
+        for (String name : List.of("Carol", "Alice", "Bob")) {
+            Client client = new Client();
+            client.setName(name);
+            client.setEmail(name.toLowerCase() + "@example.com");
+            clientRepository.save(client);
+        }
+        entityManager.flush();
+        entityManager.clear();
+
+        Slice<ClientSummary> slice = clientRepository.findAllSummariesBy(PageRequest.of(0, 2, Sort.by("name")));
+
+        assertThat(slice.getContent()).extracting(ClientSummary::name).containsExactly("Alice", "Bob");
+        assertThat(slice.hasNext()).isTrue();
+    }
+
+    @Test
+    void shouldMatchNameOrEmailWithNamePrefixFirst() {
+        String[][] clients = { { "Mary Johnson", "mary@example.com" }, { "John Doe", "jd@example.com" }, { "Ann Lee", "john.lee@example.com" }, { "Bob 50%", "bob@example.com" } };
+        for (String[] values : clients) {
+            Client client = new Client();
+            client.setName(values[0]);
+            client.setEmail(values[1]);
+            clientRepository.save(client);
+        }
+        entityManager.flush();
+
+        List<ClientSummary> matches = clientRepository.findSummariesMatching("%john%", "john%", Limit.of(10));
+
+        assertThat(matches).extracting(ClientSummary::name).containsExactly("John Doe", "Ann Lee", "Mary Johnson");
+        assertThat(clientRepository.findSummariesMatching("%john%", "john%", Limit.of(1))).hasSize(1);
+        assertThat(clientRepository.findSummariesMatching("%0\\%%", "0\\%%", Limit.of(10))).extracting(ClientSummary::name).containsExactly("Bob 50%");
+    }
 }
@@ -9,7 +9,12 @@ import java.util.List;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
 
+import com.projectmanagement.domain.Activity;
 import com.projectmanagement.domain.Client;
 import com.projectmanagement.domain.Project;
 import com.projectmanagement.domain.enumeration.Status;
@@ -17,7 +22,7 @@ import com.projectmanagement.domain.enumeration.Status;
 import jakarta.persistence.EntityManager;
 import jakarta.persistence.PersistenceContext;
 
-@DataJpaTest
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
 class ProjectRepositoryTest {
 
     @Autowired
@@ -55,4 +60,45 @@ class ProjectRepositoryTest {
         assertThat(projects.get(0).getStatus()).isEqualTo(Status.IN_PROGRESS);
         assertThat(projects.get(0).getClient().getName()).isEqualTo("Client A");
     }
+
+    @Test
+    void shouldLoadSliceWithClientAndActivitiesInTwoStatements() {
+        for (int i = 0; i < 3; i++) {
+            Client client = new Client();
+            client.setName("Client " + i);
+            client.setEmail("client" + i + "@example.com");
+            clientRepository.save(client);
+
+            Project project = new Project();
+            project.setName("Project " + i);
+            project.setStatus(Status.OPEN);
+            project.setStartDate(Instant.now());
+            project.setClient(client);
+            projectRepository.save(project);
+
+            for (int j = 0; j < 2; j++) {
+                Activity activity = new Activity();
+                activity.setDescription("Activity " + i + "." + j);
+                activity.setStatus(Status.OPEN);
+                activity.setStartDate(Instant.now());
+                activity.setProject(project);
+                entityManager.persist(activity);
+            }
+        }
+        entityManager.flush();
+        entityManager.clear();
+
+        Statistics statistics = entityManager.getEntityManagerFactory().unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        Slice<Project> slice = projectRepository.findAllWithClientBy(PageRequest.of(0, 10));
+        projectRepository.fetchActivities(slice.getContent());
+
+        assertThat(slice.getContent()).hasSize(3);
+        assertThat(slice.getContent()).allSatisfy(project -> {
+            assertThat(project.getClient().getName()).startsWith("Client");
+            assertThat(project.getActivities()).hasSize(2);
+        });
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(2);
+    }
 }
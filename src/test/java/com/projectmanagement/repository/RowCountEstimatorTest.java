@@ -0,0 +1,75 @@
+package com.projectmanagement.repository;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.Duration;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import com.projectmanagement.config.ApplicationProperties;
+import com.projectmanagement.domain.Client;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+
+// the ttl is bound strictly, an unknown key would fail the context
+@DataJpaTest(properties = "application.count-estimate.ttl=PT30S")
+@Import(RowCountEstimator.class)
+@EnableConfigurationProperties(ApplicationProperties.class)
+class RowCountEstimatorTest {
+
+    @Autowired
+    private RowCountEstimator rowCountEstimator;
+
+    @Autowired
+    private ClientRepository clientRepository;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Test
+    void shouldFallBackToExactCountAndCacheIt() {
+        Client client = new Client();
+        client.setName("John Doe");
+        client.setEmail("john@example.com");
+        clientRepository.save(client);
+        entityManager.flush();
+
+        assertThat(rowCountEstimator.estimate("client", clientRepository::count)).isEqualTo(1L);
+
+        Client other = new Client();
+        other.setName("Jane Doe");
+        other.setEmail("jane@example.com");
+        clientRepository.save(other);
+        entityManager.flush();
+
+        assertThat(rowCountEstimator.estimate("client", clientRepository::count)).isEqualTo(1L);
+    }
+
+    @Test
+    void shouldSumTheEstimatesOfAnalyzedPartitions() throws Exception {
+        try (EmbeddedPostgres postgres = EmbeddedPostgres.builder().start()) {
+            JdbcTemplate jdbcTemplate = new JdbcTemplate(postgres.getPostgresDatabase());
+            jdbcTemplate.execute("create table event (id bigint, day int) partition by range (day)");
+            jdbcTemplate.execute("create table event_1 partition of event for values from (0) to (10)");
+            jdbcTemplate.execute("create table event_2 partition of event for values from (10) to (20)");
+            jdbcTemplate.execute("create table event_3 partition of event for values from (20) to (30)");
+            jdbcTemplate.update("insert into event select id, id % 20 from generate_series(1, 1000) id");
+            jdbcTemplate.execute("analyze event_1");
+            jdbcTemplate.execute("analyze event_2");
+
+            ApplicationProperties applicationProperties = new ApplicationProperties();
+            applicationProperties.getCountEstimate().setTtl(Duration.ZERO);
+            RowCountEstimator estimator = new RowCountEstimator(postgres.getPostgresDatabase(), applicationProperties);
+
+            assertThat(estimator.estimate("event", () -> -1L)).isEqualTo(1000L);
+        }
+    }
+}
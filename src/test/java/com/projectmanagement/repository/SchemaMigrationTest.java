@@ -0,0 +1,71 @@
+package com.projectmanagement.repository;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.IOException;
+
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+
+/**
+ * The Flyway migrations of a database created by {@code hibernate.ddl-auto=update}, on an embedded PostgreSQL server.
+ */
+class SchemaMigrationTest {
+
+    private EmbeddedPostgres postgres;
+
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void startPostgres() throws IOException {
+        postgres = EmbeddedPostgres.builder().start();
+        jdbcTemplate = new JdbcTemplate(postgres.getPostgresDatabase());
+    }
+
+    @AfterEach
+    void stopPostgres() throws IOException {
+        postgres.close();
+    }
+
+    @Test
+    void shouldMigrateASchemaCreatedByHibernate() {
+        jdbcTemplate.execute(
+            "create table client (id bigint generated by default as identity primary key, email varchar(255) not null, " +
+            "name varchar(255) not null, phone varchar(255))"
+        );
+        jdbcTemplate.execute(
+            "create table project (id bigint generated by default as identity primary key, description varchar(255), " +
+            "end_date timestamp(6) with time zone, name varchar(255) not null, start_date timestamp(6) with time zone not null, " +
+            "status varchar(255) not null check (status in ('OPEN','IN_PROGRESS','COMPLETED','PENDING')), " +
+            "client_id bigint not null references client (id))"
+        );
+        jdbcTemplate.execute(
+            "create table activity (id bigint generated by default as identity primary key, description varchar(255) not null, " +
+            "end_date timestamp(6) with time zone, start_date timestamp(6) with time zone not null, " +
+            "status varchar(255) not null check (status in ('OPEN','IN_PROGRESS','COMPLETED','PENDING')), " +
+            "project_id bigint not null references project (id))"
+        );
+        jdbcTemplate.update("insert into client (name, email) values ('c', 'e')");
+        jdbcTemplate.update("insert into project (name, status, start_date, client_id) values ('p', 'OPEN', now(), 1)");
+        jdbcTemplate.update("insert into activity (id, description, status, start_date, project_id) values (120, 'a', 'OPEN', now(), 1)");
+
+        Flyway.configure()
+            .dataSource(postgres.getPostgresDatabase())
+            .locations("classpath:db/migration/postgresql")
+            .baselineOnMigrate(true)
+            .baselineVersion("0")
+            .load()
+            .migrate();
+
+        assertThat(jdbcTemplate.queryForObject("select version from client", Long.class)).isZero();
+        assertThat(jdbcTemplate.queryForObject("select version from project", Long.class)).isZero();
+        assertThat(jdbcTemplate.queryForObject("select version from activity where id = 120", Long.class)).isZero();
+        // Hibernate hands out the 50 ids up to the value returned by the pooled sequence
+        assertThat(jdbcTemplate.queryForObject("select nextval('activity_seq')", Long.class) - 49).isGreaterThan(120L);
+    }
+}
@@ -0,0 +1,91 @@
+package com.projectmanagement.repository;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+
+import java.time.Instant;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+
+import com.projectmanagement.domain.Activity;
+import com.projectmanagement.domain.Client;
+import com.projectmanagement.domain.Project;
+import com.projectmanagement.domain.enumeration.Status;
+import com.projectmanagement.repository.projection.SearchHit;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+
+@DataJpaTest
+@Import(SearchRepository.class)
+class SearchRepositoryTest {
+
+    @Autowired
+    private SearchRepository searchRepository;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    private Project project;
+
+    private Activity activity;
+
+    @BeforeEach
+    void setUp() {
+        Client client = new Client();
+        client.setName("Search Client");
+        client.setEmail("search@example.com");
+        entityManager.persist(client);
+
+        project = new Project();
+        project.setName("Website Redesign");
+        project.setDescription("New landing page");
+        project.setStatus(Status.OPEN);
+        project.setStartDate(Instant.now());
+        project.setClient(client);
+        entityManager.persist(project);
+
+        activity = new Activity();
+        activity.setDescription("Design the landing page mockups");
+        activity.setStatus(Status.OPEN);
+        activity.setStartDate(Instant.now());
+        activity.setProject(project);
+        entityManager.persist(activity);
+
+        Activity other = new Activity();
+        other.setDescription("Set up 100% of the CI pipeline");
+        other.setStatus(Status.OPEN);
+        other.setStartDate(Instant.now());
+        other.setProject(project);
+        entityManager.persist(other);
+        entityManager.flush();
+    }
+
+    @Test
+    void shouldFindProjectsAndActivitiesMatchingEveryWord() {
+        List<SearchHit> hits = searchRepository.search("Landing PAGE", 10);
+
+        assertThat(hits)
+            .extracting(SearchHit::type, SearchHit::id, SearchHit::projectId)
+            .containsExactly(
+                tuple(SearchHit.Type.ACTIVITY, activity.getId(), project.getId()),
+                tuple(SearchHit.Type.PROJECT, project.getId(), project.getId())
+            );
+        assertThat(searchRepository.search("landing pipeline", 10)).isEmpty();
+        assertThat(searchRepository.search("0%", 10)).extracting(SearchHit::text).containsExactly("Set up 100% of the CI pipeline");
+    }
+
+    @Test
+    void shouldSeekAfterLastHit() {
+        SearchHit first = searchRepository.search("landing", 1).get(0);
+
+        List<SearchHit> next = searchRepository.searchAfter("landing", first.rank(), first.type(), first.id(), 10);
+
+        assertThat(next).extracting(SearchHit::type).containsExactly(SearchHit.Type.PROJECT);
+    }
+}
@@ -0,0 +1,83 @@
+package com.projectmanagement.repository;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
+
+import com.projectmanagement.domain.Client;
+import com.projectmanagement.domain.Project;
+import com.projectmanagement.domain.enumeration.Status;
+import com.projectmanagement.service.ProjectService;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+
+@DataJpaTest
+@Import(SparseFieldsRepository.class)
+class SparseFieldsRepositoryTest {
+
+    @Autowired
+    private SparseFieldsRepository sparseFieldsRepository;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    private Client client;
+
+    @BeforeEach
+    void setUp() {
+        client = new Client();
+        client.setName("Fields Client");
+        client.setEmail("fields@example.com");
+        entityManager.persist(client);
+        for (String name : List.of("Gamma", "Alpha", "Beta")) {
+            Project project = new Project();
+            project.setName(name);
+            project.setDescription("A long description of " + name);
+            project.setStatus(Status.OPEN);
+            project.setStartDate(Instant.now());
+            project.setClient(client);
+            entityManager.persist(project);
+        }
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+    @Test
+    void shouldSelectOnlyRequestedFieldsInRequestedOrder() {
+        Slice<Map<String, Object>> slice = sparseFieldsRepository.findSlice(
+            Project.class,
+            ProjectService.FIELDS,
+            List.of("name", "clientId", "name"),
+            PageRequest.of(0, 2, Sort.by("name"))
+        );
+
+        assertThat(slice.hasNext()).isTrue();
+        assertThat(slice.getContent()).extracting(row -> List.copyOf(row.keySet())).containsOnly(List.of("name", "clientId"));
+        assertThat(slice.getContent()).extracting(row -> row.get("name")).containsExactly("Alpha", "Beta");
+        assertThat(slice.getContent()).extracting(row -> row.get("clientId")).containsOnly(client.getId());
+    }
+
+    @Test
+    void shouldRejectUnknownFieldsAndSortProperties() {
+        assertThatThrownBy(() -> sparseFieldsRepository.findSlice(Project.class, ProjectService.FIELDS, List.of("activities"), PageRequest.of(0, 20)))
+            .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() ->
+            sparseFieldsRepository.findSlice(Project.class, ProjectService.FIELDS, List.of("name"), PageRequest.of(0, 20, Sort.by("client")))
+        ).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> sparseFieldsRepository.findSlice(Project.class, ProjectService.FIELDS, List.of(" "), PageRequest.of(0, 20)))
+            .isInstanceOf(IllegalArgumentException.class);
+    }
+}
@@ -0,0 +1,89 @@
+package com.projectmanagement.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatCode;
+
+import java.io.IOException;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+
+import javax.sql.DataSource;
+
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import com.projectmanagement.config.ApplicationProperties;
+
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+
+/**
+ * The monthly partitions of {@code activity}, on an embedded PostgreSQL server migrated by Flyway.
+ */
+class ActivityPartitionServiceTest {
+
+    private static EmbeddedPostgres postgres;
+
+    private static DataSource dataSource;
+
+    private static JdbcTemplate jdbcTemplate;
+
+    @BeforeAll
+    static void startPostgres() throws IOException {
+        postgres = EmbeddedPostgres.builder().start();
+        dataSource = postgres.getPostgresDatabase();
+        Flyway.configure().dataSource(dataSource).locations("classpath:db/migration/postgresql").load().migrate();
+        jdbcTemplate = new JdbcTemplate(dataSource);
+    }
+
+    @AfterAll
+    static void stopPostgres() throws IOException {
+        postgres.close();
+    }
+
+    @Test
+    void shouldMoveFutureActivitiesOutOfTheDefaultPartition() {
+        LocalDate month = LocalDate.now(ZoneOffset.UTC).withDayOfMonth(1).plusMonths(5);
+        String partition = "activity_" + month.format(DateTimeFormatter.ofPattern("yyyy_MM"));
+        Long clientId = jdbcTemplate.queryForObject("insert into client (name, email) values ('c', 'e') returning id", Long.class);
+        Long projectId = jdbcTemplate.queryForObject(
+            "insert into project (name, status, start_date, client_id) values ('p', 'OPEN', now(), ?) returning id",
+            Long.class,
+            clientId
+        );
+        jdbcTemplate.update(
+            "insert into activity (id, description, status, start_date, project_id) values (nextval('activity_seq'), 'planned', 'OPEN', ?, ?)",
+            Timestamp.from(month.plusDays(10).atStartOfDay().toInstant(ZoneOffset.UTC)),
+            projectId
+        );
+        assertThat(partitionOfPlannedActivity()).isEqualTo("activity_default");
+
+        partitionService(dataSource, 6).createPartitions();
+
+        assertThat(partitionOfPlannedActivity()).isEqualTo(partition);
+        // Runs again without failing once the partitions exist
+        partitionService(dataSource, 6).createPartitions();
+    }
+
+    @Test
+    void shouldNotFailStartupWhenPartitionsCannotBeCreated() throws Exception {
+        jdbcTemplate.execute("create database unmigrated");
+        DataSource unmigrated = postgres.getDatabase("postgres", "unmigrated");
+
+        assertThatCode(() -> partitionService(unmigrated, 3).createPartitionsOnStartup()).doesNotThrowAnyException();
+    }
+
+    private String partitionOfPlannedActivity() {
+        return jdbcTemplate.queryForObject("select tableoid::regclass::text from activity where description = 'planned'", String.class);
+    }
+
+    private static ActivityPartitionService partitionService(DataSource dataSource, int monthsAhead) {
+        ApplicationProperties applicationProperties = new ApplicationProperties();
+        applicationProperties.getPartitions().setMonthsAhead(monthsAhead);
+        return new ActivityPartitionService(new JdbcTemplate(dataSource), dataSource, applicationProperties);
+    }
+}
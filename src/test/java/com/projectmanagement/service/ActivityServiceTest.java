@@ -1,25 +1,47 @@
 package com.projectmanagement.service;
 
 import static org.assertj.core.api.Assertions.assertThat;
-import static org.mockito.Mockito.doNothing;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
 import java.time.Instant;
+import java.util.List;
+import java.util.Set;
 import java.util.Optional;
+import java.util.stream.LongStream;
 
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Limit;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
 import com.projectmanagement.domain.Activity;
 import com.projectmanagement.domain.Project;
 import com.projectmanagement.domain.enumeration.Status;
 import com.projectmanagement.repository.ActivityRepository;
+import com.projectmanagement.repository.ProjectRepository;
+import com.projectmanagement.repository.projection.ActivitySummary;
+import com.projectmanagement.service.dto.ActivityBatchResult;
+import com.projectmanagement.service.dto.ActivityBatchResult.Outcome;
+import com.projectmanagement.service.dto.ActivityCriteria;
+import com.projectmanagement.service.dto.ActivitySearchCursor;
+import com.projectmanagement.service.dto.CursorPage;
+
+import jakarta.validation.Validator;
 
 @ExtendWith(MockitoExtension.class)
 class ActivityServiceTest {
@@ -27,6 +49,15 @@ class ActivityServiceTest {
     @Mock
     private ActivityRepository activityRepository;
 
+    @Mock
+    private ProjectRepository projectRepository;
+
+    @Mock
+    private Validator validator;
+
+    @Spy
+    private ObjectMapper objectMapper = new ObjectMapper().registerModule(new JavaTimeModule());
+
     @InjectMocks
     private ActivityService activityService;
 
@@ -68,6 +99,58 @@ class ActivityServiceTest {
         verify(activityRepository, times(1)).save(activity);
     }
 
+    @Test
+    void shouldUpdateActivityIfExists() {
+        Activity current = new Activity();
+        current.setId(1L);
+        current.setVersion(2L);
+        current.setDescription("Old description");
+        current.setProject(activity.getProject());
+        activity.setVersion(2L);
+        when(activityRepository.findById(1L)).thenReturn(Optional.of(current));
+
+        Optional<Activity> updatedActivity = activityService.updateIfExists(activity);
+
+        assertThat(updatedActivity).containsSame(current);
+        assertThat(current.getDescription()).isEqualTo("Test Activity");
+        assertThat(current.getStatus()).isEqualTo(Status.IN_PROGRESS);
+        verify(activityRepository, never()).save(activity);
+    }
+
+    @Test
+    void shouldNotUpdateMissingActivity() {
+        when(activityRepository.findById(1L)).thenReturn(Optional.empty());
+
+        assertThat(activityService.updateIfExists(activity)).isEmpty();
+    }
+
+    @Test
+    void shouldRejectUpdateWithStaleVersion() {
+        Activity current = new Activity();
+        current.setId(1L);
+        current.setVersion(3L);
+        activity.setVersion(2L);
+        when(activityRepository.findById(1L)).thenReturn(Optional.of(current));
+
+        assertThatThrownBy(() -> activityService.updateIfExists(activity)).isInstanceOf(ObjectOptimisticLockingFailureException.class);
+    }
+
+    @Test
+    void shouldDeleteActivityIfExists() {
+        when(activityRepository.findById(1L)).thenReturn(Optional.of(activity));
+
+        assertThat(activityService.deleteIfExists(1L)).isTrue();
+        verify(activityRepository, times(1)).delete(activity);
+    }
+
+    @Test
+    void shouldNotDeleteMissingActivity() {
+        when(activityRepository.findById(1L)).thenReturn(Optional.empty());
+
+        assertThat(activityService.deleteIfExists(1L)).isFalse();
+        verify(activityRepository, never()).delete(activity);
+    }
+
     @Test
     void shouldFindActivityById() {
         when(activityRepository.findById(1L)).thenReturn(Optional.of(activity));
@@ -81,11 +164,12 @@ class ActivityServiceTest {
 
     @Test
     void shouldDeleteActivityById() {
-        doNothing().when(activityRepository).deleteById(1L);
+        when(activityRepository.findById(1L)).thenReturn(Optional.of(activity));
 
         activityService.delete(1L);
 
-        verify(activityRepository, times(1)).deleteById(1L);
+        verify(activityRepository, times(1)).delete(activity);
+        verify(projectRepository, times(1)).incrementVersions(List.of(1L));
     }
 
     @Test
@@ -97,4 +181,140 @@ class ActivityServiceTest {
         assertThat(exists).isTrue();
         verify(activityRepository, times(1)).existsById(1L);
     }
+
+    @Test
+    void shouldFindActivitiesAfterCursor() {
+        ActivitySummary first = summary(1L);
+        when(activityRepository.findSummariesAfter(0L, Limit.of(2))).thenReturn(List.of(first, summary(2L)));
+
+        CursorPage<ActivitySummary> page = activityService.findAllAfter(null, 1);
+
+        assertThat(page.content()).containsExactly(first);
+        assertThat(CursorPage.decodeCursor(page.nextCursor())).isEqualTo(1L);
+    }
+
+    @Test
+    void shouldReturnNoCursorOnLastPage() {
+        ActivitySummary last = summary(2L);
+        when(activityRepository.findSummariesAfter(1L, Limit.of(2))).thenReturn(List.of(last));
+
+        CursorPage<ActivitySummary> page = activityService.findAllAfter(CursorPage.encodeCursor(1L), 1);
+
+        assertThat(page.content()).containsExactly(last);
+        assertThat(page.nextCursor()).isNull();
+    }
+
+    @Test
+    void shouldSearchAfterTheStartDateAndIdOfTheCursor() {
+        Instant start = Instant.parse("2024-01-01T10:15:30.123456Z");
+        ActivityCriteria criteria = new ActivityCriteria(1L, Status.IN_PROGRESS, null, null);
+        ActivitySummary first = new ActivitySummary(9L, "First", Status.IN_PROGRESS, start, null, 1L);
+        ActivitySummary second = new ActivitySummary(3L, "Second", Status.IN_PROGRESS, start.plusSeconds(60), null, 1L);
+        when(activityRepository.findSummariesAfter(any(), eq(null), eq(null), eq(2))).thenReturn(List.of(first, second));
+        when(activityRepository.findSummariesAfter(any(), eq(start), eq(9L), eq(2))).thenReturn(List.of(second));
+
+        CursorPage<ActivitySummary> page = activityService.search(criteria, null, 1);
+
+        assertThat(page.content()).containsExactly(first);
+        assertThat(ActivitySearchCursor.decode(page.nextCursor())).isEqualTo(new ActivitySearchCursor(start, 9L));
+        CursorPage<ActivitySummary> next = activityService.search(criteria, page.nextCursor(), 1);
+        assertThat(next.content()).containsExactly(second);
+        assertThat(next.nextCursor()).isNull();
+    }
+
+    @Test
+    void shouldRejectACursorOfAnotherListing() {
+        ActivityCriteria criteria = new ActivityCriteria(null, null, null, null);
+
+        assertThatThrownBy(() -> activityService.search(criteria, CursorPage.encodeCursor(1L), 1)).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private ActivitySummary summary(Long id) {
+        return new ActivitySummary(id, "Test Activity", Status.IN_PROGRESS, Instant.now(), null, 1L);
+    }
+
+    @Test
+    void shouldSaveBatchOfActivities() {
+        Project project = activity.getProject();
+        Activity created = new Activity();
+        created.setDescription("New Activity");
+        Activity unknown = new Activity();
+        unknown.setId(99L);
+        Activity changed = new Activity();
+        changed.setId(1L);
+        changed.setDescription("Changed Activity");
+        changed.setStatus(Status.COMPLETED);
+
+        when(projectRepository.existsById(1L)).thenReturn(true);
+        when(projectRepository.getReferenceById(1L)).thenReturn(project);
+        when(activityRepository.findAllById(Set.of(1L, 99L))).thenReturn(List.of(activity));
+        when(activityRepository.save(created)).thenAnswer(invocation -> {
+            created.setId(2L);
+            return created;
+        });
+
+        Optional<List<ActivityBatchResult>> results = activityService.saveAll(1L, List.of(created, unknown, changed));
+
+        assertThat(results).isPresent();
+        assertThat(results.get()).extracting(ActivityBatchResult::outcome)
+                .containsExactly(Outcome.CREATED, Outcome.NOT_FOUND, Outcome.UPDATED);
+        assertThat(results.get().get(0).id()).isEqualTo(2L);
+        assertThat(activity.getDescription()).isEqualTo("Changed Activity");
+        assertThat(activity.getStatus()).isEqualTo(Status.COMPLETED);
+        verify(activityRepository, times(1)).flush();
+    }
+
+    @Test
+    void shouldNotMoveActivitiesOfAnotherProject() {
+        Project other = new Project();
+        other.setId(2L);
+        activity.setProject(other);
+        Activity moved = new Activity();
+        moved.setId(1L);
+        moved.setDescription("Moved Activity");
+        moved.setStatus(Status.OPEN);
+        moved.setStartDate(Instant.now());
+
+        when(projectRepository.existsById(1L)).thenReturn(true);
+        when(activityRepository.findAllById(Set.of(1L))).thenReturn(List.of(activity));
+
+        Optional<List<ActivityBatchResult>> results = activityService.saveAll(1L, List.of(moved));
+
+        assertThat(results).hasValueSatisfying(items -> assertThat(items).extracting(ActivityBatchResult::outcome).containsExactly(Outcome.NOT_FOUND));
+        assertThat(activity.getProject()).isSameAs(other);
+        assertThat(activity.getDescription()).isNotEqualTo("Moved Activity");
+    }
+
+    @Test
+    void shouldNotSaveBatchOfUnknownProject() {
+        when(projectRepository.existsById(1L)).thenReturn(false);
+
+        assertThat(activityService.saveAll(1L, List.of(activity))).isEmpty();
+        verify(activityRepository, never()).flush();
+    }
+
+    @Test
+    void shouldExportActivitiesAsNdjson() throws Exception {
+        when(activityRepository.findSummariesByProjectIdAfter(eq(1L), eq(0L), any())).thenReturn(List.of(summary(1L), summary(2L)));
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        activityService.exportByProject(1L, out);
+
+        String[] lines = out.toString(StandardCharsets.UTF_8).split("\n");
+        assertThat(lines).hasSize(2);
+        assertThat(objectMapper.readValue(lines[1], ActivitySummary.class).id()).isEqualTo(2L);
+    }
+
+    @Test
+    void shouldExportActivitiesPageByPage() throws Exception {
+        List<ActivitySummary> firstPage = LongStream.rangeClosed(1, 500).mapToObj(this::summary).toList();
+        when(activityRepository.findSummariesByProjectIdAfter(1L, 0L, Limit.of(500))).thenReturn(firstPage);
+        when(activityRepository.findSummariesByProjectIdAfter(1L, 500L, Limit.of(500))).thenReturn(List.of(summary(501L)));
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        activityService.exportByProject(1L, out);
+
+        assertThat(out.toString(StandardCharsets.UTF_8).split("\n")).hasSize(501);
+        verify(activityRepository, times(2)).findSummariesByProjectIdAfter(eq(1L), any(), any());
+    }
 }
@@ -0,0 +1,132 @@
+package com.projectmanagement.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyMap;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.time.Instant;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import com.projectmanagement.config.ApplicationProperties;
+import com.projectmanagement.domain.Activity;
+import com.projectmanagement.domain.Client;
+import com.projectmanagement.domain.Project;
+import com.projectmanagement.domain.enumeration.Status;
+
+@SpringBootTest(properties = { "application.status-queue.capacity=2", "application.status-queue.flush-interval=1h" })
+class ActivityStatusQueueTest {
+
+    private static final Instant START = Instant.parse("2024-01-01T00:00:00Z");
+
+    @Autowired
+    private ActivityStatusQueue activityStatusQueue;
+
+    @Autowired
+    private ActivityService activityService;
+
+    @Autowired
+    private ClientService clientService;
+
+    @Autowired
+    private ProjectService projectService;
+
+    @Autowired
+    private ClientRollupService clientRollupService;
+
+    @Test
+    void shouldCoalesceAndFlushStatusChanges() {
+        Client client = createClient("status-queue@example.com");
+        Project project = createProject(client);
+        Activity first = createActivity(project);
+        Activity second = createActivity(project);
+        assertThat(activityService.findProjectStats(project.getId(), true).orElseThrow().countsByStatus()).containsEntry(Status.OPEN, 2L);
+
+        assertThat(activityStatusQueue.offer(first.getId(), Status.IN_PROGRESS)).isTrue();
+        assertThat(activityStatusQueue.offer(first.getId(), Status.COMPLETED)).isTrue();
+        assertThat(activityStatusQueue.offer(second.getId(), Status.OPEN)).isTrue();
+        assertThat(activityStatusQueue.size()).isEqualTo(2);
+        // Full, but changes to queued activities are still coalesced
+        assertThat(activityStatusQueue.offer(Long.MAX_VALUE, Status.COMPLETED)).isFalse();
+        assertThat(activityStatusQueue.offer(second.getId(), Status.PENDING)).isTrue();
+
+        assertThat(activityStatusQueue.flush()).isEqualTo(2);
+
+        assertThat(activityStatusQueue.size()).isZero();
+        Activity flushed = activityService.findOne(first.getId()).orElseThrow();
+        assertThat(flushed.getStatus()).isEqualTo(Status.COMPLETED);
+        assertThat(flushed.getVersion()).isEqualTo(first.getVersion() + 1);
+        assertThat(activityService.findOne(second.getId()).orElseThrow().getStatus()).isEqualTo(Status.PENDING);
+        assertThat(clientRollupService.findSummary(client.getId()).orElseThrow().activitiesByStatus())
+            .containsEntry(Status.OPEN, 0L)
+            .containsEntry(Status.COMPLETED, 1L)
+            .containsEntry(Status.PENDING, 1L);
+        assertThat(activityService.findProjectStats(project.getId(), true).orElseThrow().countsByStatus()).containsEntry(Status.OPEN, 0L);
+    }
+
+    @Test
+    void shouldSkipUnchangedAndUnknownActivities() {
+        Activity activity = createActivity(createProject(createClient("status-queue-unchanged@example.com")));
+
+        activityStatusQueue.offer(activity.getId(), Status.OPEN);
+        activityStatusQueue.offer(Long.MAX_VALUE, Status.COMPLETED);
+
+        assertThat(activityStatusQueue.flush()).isZero();
+        assertThat(activityService.findOne(activity.getId()).orElseThrow().getVersion()).isEqualTo(activity.getVersion());
+    }
+
+    @Test
+    void shouldWriteAFailedBatchOneByOneAndDropChangesThatKeepFailing() {
+        ApplicationProperties applicationProperties = new ApplicationProperties();
+        applicationProperties.getStatusQueue().setBatchSize(2);
+        applicationProperties.getStatusQueue().setMaxAttempts(2);
+        ActivityService failingService = mock(ActivityService.class);
+        when(failingService.updateStatuses(anyMap())).thenAnswer(invocation -> {
+            Map<Long, Status> statuses = invocation.getArgument(0);
+            if (statuses.containsKey(2L)) {
+                throw new IllegalStateException("Activity 2 cannot be written");
+            }
+            return statuses.size();
+        });
+        ActivityStatusQueue queue = new ActivityStatusQueue(failingService, applicationProperties);
+        queue.offer(1L, Status.COMPLETED);
+        queue.offer(2L, Status.COMPLETED);
+        queue.offer(3L, Status.COMPLETED);
+
+        // The failing activity does not hold back the others and is retried by the next flush
+        assertThat(queue.flush()).isEqualTo(2);
+        assertThat(queue.size()).isEqualTo(1);
+
+        assertThat(queue.flush()).isZero();
+        assertThat(queue.size()).isZero();
+    }
+
+    private Client createClient(String email) {
+        Client client = new Client();
+        client.setName("Status Queue Client");
+        client.setEmail(email);
+        return clientService.save(client);
+    }
+
+    private Project createProject(Client client) {
+        Project project = new Project();
+        project.setName("Status Queue Project");
+        project.setStatus(Status.OPEN);
+        project.setStartDate(START);
+        project.setClient(client);
+        return projectService.save(project);
+    }
+
+    private Activity createActivity(Project project) {
+        Activity activity = new Activity();
+        activity.setDescription("Status Queue Activity");
+        activity.setStatus(Status.OPEN);
+        activity.setStartDate(START);
+        activity.setProject(project);
+        return activityService.save(activity);
+    }
+}
@@ -0,0 +1,162 @@
+package com.projectmanagement.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import com.projectmanagement.domain.Activity;
+import com.projectmanagement.domain.Client;
+import com.projectmanagement.domain.Project;
+import com.projectmanagement.domain.enumeration.Status;
+import com.projectmanagement.service.dto.ClientRollupSummary;
+
+@SpringBootTest
+class ClientRollupServiceTest {
+
+    private static final Instant START = Instant.parse("2024-01-01T00:00:00Z");
+
+    @Autowired
+    private ClientRollupService clientRollupService;
+
+    @Autowired
+    private ClientService clientService;
+
+    @Autowired
+    private ProjectService projectService;
+
+    @Autowired
+    private ActivityService activityService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Test
+    void shouldMaintainRollupOnWrites() {
+        Client client = createClient("rollup@example.com");
+        assertThat(summary(client).totalProjects()).isZero();
+
+        Project project = createProject(client);
+        Activity completed = createActivity(project, Status.COMPLETED, START);
+        createActivity(project, Status.OPEN, START.plus(2, ChronoUnit.DAYS));
+
+        ClientRollupSummary summary = summary(client);
+        assertThat(summary.projectsByStatus()).containsEntry(Status.OPEN, 1L);
+        assertThat(summary.activitiesByStatus()).containsEntry(Status.COMPLETED, 1L).containsEntry(Status.OPEN, 1L);
+        assertThat(summary.lastActivityDate()).isEqualTo(START.plus(2, ChronoUnit.DAYS));
+
+        completed.setStatus(Status.PENDING);
+        completed.setVersion(null);
+        activityService.updateIfExists(completed);
+
+        assertThat(summary(client).activitiesByStatus()).containsEntry(Status.COMPLETED, 0L).containsEntry(Status.PENDING, 1L);
+
+        projectService.delete(project.getId());
+
+        summary = summary(client);
+        assertThat(summary.totalProjects()).isZero();
+        assertThat(summary.totalActivities()).isZero();
+        assertThat(summary.lastActivityDate()).isNull();
+    }
+
+    @Test
+    void shouldRebuildDriftedRollups() {
+        Client client = createClient("drift@example.com");
+        createActivity(createProject(client), Status.IN_PROGRESS, START);
+        jdbcTemplate.update("update client_rollup set activities_in_progress = 42 where client_id = ?", client.getId());
+
+        clientRollupService.rebuild();
+
+        assertThat(summary(client).activitiesByStatus()).containsEntry(Status.IN_PROGRESS, 1L);
+    }
+
+    @Test
+    void shouldApplyTheChangesOfAWriteWithoutRecounting() throws Exception {
+        Client client = createClient("rollup-delta@example.com");
+        Project project = createProject(client);
+        Activity activity = createActivity(project, Status.OPEN, START);
+        // A drift is kept, so the counts below come from deltas rather than from a recount
+        jdbcTemplate.update("update client_rollup set activities_open = 10 where client_id = ?", client.getId());
+        Instant refreshedAt = summary(client).refreshedAt();
+
+        projectService.patch(project.getId(), objectMapper.readTree("{\"name\":\"Renamed\"}"), null);
+        assertThat(summary(client).refreshedAt()).isEqualTo(refreshedAt);
+
+        activityService.patch(activity.getId(), objectMapper.readTree("{\"status\":\"COMPLETED\"}"), null);
+        projectService.patch(project.getId(), objectMapper.readTree("{\"status\":\"PENDING\"}"), null);
+
+        ClientRollupSummary summary = summary(client);
+        assertThat(summary.activitiesByStatus()).containsEntry(Status.OPEN, 9L).containsEntry(Status.COMPLETED, 1L);
+        assertThat(summary.projectsByStatus()).containsEntry(Status.OPEN, 0L).containsEntry(Status.PENDING, 1L);
+    }
+
+    @Test
+    void shouldRecomputeTheLastActivityDateWhenTheLatestActivityIsRemoved() {
+        Client client = createClient("rollup-last-date@example.com");
+        Project project = createProject(client);
+        createActivity(project, Status.OPEN, START);
+        Activity latest = createActivity(project, Status.OPEN, START.plus(5, ChronoUnit.DAYS));
+        assertThat(summary(client).lastActivityDate()).isEqualTo(START.plus(5, ChronoUnit.DAYS));
+
+        activityService.delete(latest.getId());
+
+        assertThat(summary(client).lastActivityDate()).isEqualTo(START);
+        assertThat(summary(client).activitiesByStatus()).containsEntry(Status.OPEN, 1L);
+    }
+
+    @Test
+    void shouldRecountBothClientsWhenAProjectMoves() {
+        Client from = createClient("rollup-from@example.com");
+        Client to = createClient("rollup-to@example.com");
+        Project project = createProject(from);
+        createActivity(project, Status.IN_PROGRESS, START);
+
+        project.setClient(to);
+        project.setVersion(null);
+        projectService.updateIfExists(project);
+
+        assertThat(summary(from).totalProjects()).isZero();
+        assertThat(summary(from).totalActivities()).isZero();
+        assertThat(summary(to).projectsByStatus()).containsEntry(Status.OPEN, 1L);
+        assertThat(summary(to).activitiesByStatus()).containsEntry(Status.IN_PROGRESS, 1L);
+    }
+
+    private ClientRollupSummary summary(Client client) {
+        return clientRollupService.findSummary(client.getId()).orElseThrow();
+    }
+
+    private Client createClient(String email) {
+        Client client = new Client();
+        client.setName("Rollup Client");
+        client.setEmail(email);
+        return clientService.save(client);
+    }
+
+    private Project createProject(Client client) {
+        Project project = new Project();
+        project.setName("Rollup Project");
+        project.setStatus(Status.OPEN);
+        project.setStartDate(START);
+        project.setClient(client);
+        return projectService.save(project);
+    }
+
+    private Activity createActivity(Project project, Status status, Instant startDate) {
+        Activity activity = new Activity();
+        activity.setDescription("Rollup Activity");
+        activity.setStatus(status);
+        activity.setStartDate(startDate);
+        activity.setProject(project);
+        return activityService.save(activity);
+    }
+}
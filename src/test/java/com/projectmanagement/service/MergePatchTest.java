@@ -0,0 +1,82 @@
+package com.projectmanagement.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.time.Instant;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.projectmanagement.domain.Client;
+import com.projectmanagement.domain.Project;
+import com.projectmanagement.domain.enumeration.Status;
+
+import jakarta.validation.Validation;
+import jakarta.validation.ValidatorFactory;
+
+class MergePatchTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper().registerModule(new JavaTimeModule());
+
+    private ValidatorFactory validatorFactory;
+
+    private Project project;
+
+    @BeforeEach
+    void setUp() {
+        validatorFactory = Validation.buildDefaultValidatorFactory();
+        Client client = new Client();
+        client.setId(1L);
+        project = new Project();
+        project.setId(1L);
+        project.setVersion(3L);
+        project.setName("Test Project");
+        project.setDescription("A description");
+        project.setStatus(Status.OPEN);
+        project.setStartDate(Instant.parse("2024-01-01T00:00:00Z"));
+        project.setClient(client);
+    }
+
+    @AfterEach
+    void tearDown() {
+        validatorFactory.close();
+    }
+
+    @Test
+    void shouldSetPresentMembersAndClearNullMembers() throws Exception {
+        apply("{\"name\":\"Renamed Project\",\"description\":null,\"endDate\":\"2024-02-01T00:00:00Z\"}");
+
+        assertThat(project.getName()).isEqualTo("Renamed Project");
+        assertThat(project.getDescription()).isNull();
+        assertThat(project.getEndDate()).isEqualTo(Instant.parse("2024-02-01T00:00:00Z"));
+        assertThat(project.getStatus()).isEqualTo(Status.OPEN);
+        assertThat(project.getVersion()).isEqualTo(3L);
+        assertThat(project.getClient().getId()).isEqualTo(1L);
+    }
+
+    @Test
+    void shouldRejectFieldsThatCannotBePatched() {
+        assertThatThrownBy(() -> apply("{\"name\":\"Renamed Project\",\"client\":{\"id\":2}}"))
+            .isInstanceOf(IllegalArgumentException.class)
+            .hasMessageContaining("client");
+        assertThatThrownBy(() -> apply("{\"version\":7}")).isInstanceOf(IllegalArgumentException.class);
+        assertThat(project.getName()).isEqualTo("Test Project");
+    }
+
+    @Test
+    void shouldRejectInvalidValues() {
+        assertThatThrownBy(() -> apply("{\"status\":\"UNKNOWN\"}")).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> apply("{\"name\":null}")).isInstanceOf(IllegalArgumentException.class).hasMessageContaining("name");
+        assertThatThrownBy(() -> apply("[]")).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private void apply(String patch) throws Exception {
+        JsonNode node = objectMapper.readTree(patch);
+        MergePatch.apply(objectMapper, validatorFactory.getValidator(), project, node, ProjectService.PATCHABLE_FIELDS);
+    }
+}
@@ -0,0 +1,119 @@
+package com.projectmanagement.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import com.projectmanagement.domain.Activity;
+import com.projectmanagement.domain.Client;
+import com.projectmanagement.domain.Project;
+import com.projectmanagement.domain.enumeration.Status;
+import com.projectmanagement.service.dto.ClientRollupSummary;
+import com.projectmanagement.service.dto.ProjectDeletionStatus;
+import com.projectmanagement.service.dto.ProjectDeletionStatus.State;
+
+@SpringBootTest(properties = "application.project-deletion.chunk-size=2")
+class ProjectDeletionServiceTest {
+
+    private static final Instant START = Instant.parse("2024-01-01T00:00:00Z");
+
+    @Autowired
+    private ProjectDeletionService projectDeletionService;
+
+    @Autowired
+    private ClientService clientService;
+
+    @Autowired
+    private ProjectService projectService;
+
+    @Autowired
+    private ActivityService activityService;
+
+    @Autowired
+    private ClientRollupService clientRollupService;
+
+    @Test
+    void shouldDeleteProjectInChunks() throws Exception {
+        Client client = new Client();
+        client.setName("Deletion Client");
+        client.setEmail("deletion@example.com");
+        clientService.save(client);
+        Project project = new Project();
+        project.setName("Deletion Project");
+        project.setStatus(Status.OPEN);
+        project.setStartDate(START);
+        project.setClient(client);
+        projectService.save(project);
+        for (int i = 0; i < 5; i++) {
+            Activity activity = new Activity();
+            activity.setDescription("Deletion Activity " + i);
+            activity.setStatus(Status.OPEN);
+            activity.setStartDate(START);
+            activity.setProject(project);
+            activityService.save(activity);
+        }
+
+        ProjectDeletionStatus started = projectDeletionService.start(project.getId()).orElseThrow();
+        assertThat(started.totalActivities()).isEqualTo(5);
+
+        ProjectDeletionStatus finished = awaitFinished(started.jobId());
+        assertThat(finished.state()).isEqualTo(State.COMPLETED);
+        assertThat(finished.deletedActivities()).isEqualTo(5);
+        assertThat(projectService.findOne(project.getId())).isEmpty();
+        assertThat(clientRollupService.findSummary(client.getId()).orElseThrow().totalActivities()).isZero();
+    }
+
+    @Test
+    void shouldCountEachDeletedChunkOutOfTheClientRollup() {
+        Client client = new Client();
+        client.setName("Chunk Client");
+        client.setEmail("chunk@example.com");
+        clientService.save(client);
+        Project project = new Project();
+        project.setName("Chunk Project");
+        project.setStatus(Status.OPEN);
+        project.setStartDate(START);
+        project.setClient(client);
+        projectService.save(project);
+        Status[] statuses = { Status.OPEN, Status.COMPLETED, Status.COMPLETED };
+        for (int i = 0; i < statuses.length; i++) {
+            Activity activity = new Activity();
+            activity.setDescription("Chunk Activity " + i);
+            activity.setStatus(statuses[i]);
+            activity.setStartDate(START.plus(Duration.ofDays(i)));
+            activity.setProject(project);
+            activityService.save(activity);
+        }
+
+        List<Long> deleted = projectService.deleteActivities(project.getId(), 0, 2);
+
+        assertThat(deleted).hasSize(2);
+        ClientRollupSummary summary = clientRollupService.findSummary(client.getId()).orElseThrow();
+        assertThat(summary.activitiesByStatus()).containsEntry(Status.OPEN, 0L).containsEntry(Status.COMPLETED, 1L);
+        assertThat(summary.lastActivityDate()).isEqualTo(START.plus(Duration.ofDays(2)));
+        assertThat(projectService.deleteActivities(project.getId(), deleted.get(1), 2)).hasSize(1);
+        assertThat(clientRollupService.findSummary(client.getId()).orElseThrow().totalActivities()).isZero();
+    }
+
+    @Test
+    void shouldNotStartDeletingAnUnknownProject() {
+        assertThat(projectDeletionService.start(Long.MAX_VALUE)).isEmpty();
+        assertThat(projectDeletionService.findStatus("unknown")).isEmpty();
+    }
+
+    private ProjectDeletionStatus awaitFinished(String jobId) throws InterruptedException {
+        Instant deadline = Instant.now().plus(Duration.ofSeconds(10));
+        ProjectDeletionStatus status = projectDeletionService.findStatus(jobId).orElseThrow();
+        while (status.state() == State.RUNNING && Instant.now().isBefore(deadline)) {
+            Thread.sleep(20);
+            status = projectDeletionService.findStatus(jobId).orElseThrow();
+        }
+        return status;
+    }
+}
@@ -1,12 +1,16 @@
 package com.projectmanagement.service;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.doNothing;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 import java.time.Instant;
+import java.util.List;
 import java.util.Optional;
 
 import org.junit.jupiter.api.BeforeEach;
@@ -15,11 +19,18 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
 
 import com.projectmanagement.domain.Client;
 import com.projectmanagement.domain.Project;
 import com.projectmanagement.domain.enumeration.Status;
+import com.projectmanagement.repository.ActivityRepository;
 import com.projectmanagement.repository.ProjectRepository;
+import com.projectmanagement.repository.RowCountEstimator;
+import com.projectmanagement.repository.projection.ProjectSummary;
 
 @ExtendWith(MockitoExtension.class)
 class ProjectServiceTest {
@@ -27,6 +38,12 @@ class ProjectServiceTest {
     @Mock
     private ProjectRepository projectRepository;
 
+    @Mock
+    private RowCountEstimator rowCountEstimator;
+
+    @Mock
+    private ActivityRepository activityRepository;
+
     @InjectMocks
     private ProjectService projectService;
 
@@ -85,6 +102,7 @@ class ProjectServiceTest {
 
         projectService.delete(1L);
 
+        verify(activityRepository, times(1)).deleteByProjectId(1L);
         verify(projectRepository, times(1)).deleteById(1L);
     }
 
@@ -97,4 +115,36 @@ class ProjectServiceTest {
         assertThat(exists).isTrue();
         verify(projectRepository, times(1)).existsById(1L);
     }
+
+    @Test
+    void shouldFindSliceOfProjects() {
+        Pageable pageable = PageRequest.of(0, 10);
+        ProjectSummary summary = new ProjectSummary(1L, "Test Project", null, Status.IN_PROGRESS, Instant.now(), null, 1L);
+        when(projectRepository.findAllSummariesBy(pageable)).thenReturn(new SliceImpl<>(List.of(summary), pageable, true));
+
+        Slice<ProjectSummary> slice = projectService.findSlice(pageable);
+
+        assertThat(slice.getContent()).containsExactly(summary);
+        assertThat(slice.hasNext()).isTrue();
+        verify(projectRepository, never()).count();
+    }
+
+    @Test
+    void shouldEstimateProjectCount() {
+        when(rowCountEstimator.estimate(eq("project"), any())).thenReturn(1000L);
+
+        assertThat(projectService.estimateCount()).isEqualTo(1000L);
+    }
+
+    @Test
+    void shouldFetchClientAndActivitiesOfSlice() {
+        Pageable pageable = PageRequest.of(0, 10);
+        when(projectRepository.findAllWithClientBy(pageable)).thenReturn(new SliceImpl<>(List.of(project), pageable, false));
+
+        Slice<Project> slice = projectService.findSlice(pageable, true, true);
+
+        assertThat(slice.getContent()).containsExactly(project);
+        verify(projectRepository, times(1)).fetchActivities(List.of(project));
+        verify(projectRepository, never()).findAllBy(pageable);
+    }
 }
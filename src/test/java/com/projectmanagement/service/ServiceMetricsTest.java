@@ -0,0 +1,34 @@
+package com.projectmanagement.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.actuate.observability.AutoConfigureObservability;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+/**
+ * The {@code service.method} timers of the {@code @Timed} services.
+ */
+@SpringBootTest(properties = "management.observations.annotations.enabled=true")
+@AutoConfigureObservability(tracing = false)
+class ServiceMetricsTest {
+
+    @Autowired
+    private ClientService clientService;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Test
+    void shouldTimeServiceMethods() {
+        clientService.findOne(Long.MAX_VALUE);
+
+        Timer timer = meterRegistry.find("service.method").tag("class", ClientService.class.getName()).tag("method", "findOne").timer();
+        assertThat(timer).isNotNull();
+        assertThat(timer.count()).isEqualTo(1);
+    }
+}
@@ -2,12 +2,19 @@ package com.projectmanagement.web.rest;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.mockito.ArgumentMatchers.any;
-import static org.mockito.Mockito.doNothing;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 import java.time.Instant;
@@ -21,20 +28,26 @@ import org.junit.jupiter.api.Test;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
-import org.springframework.data.domain.Page;
-import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
 import org.springframework.data.web.PageableHandlerMethodArgumentResolver;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.test.web.servlet.setup.MockMvcBuilders;
 
 import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
 import com.projectmanagement.domain.Activity;
 import com.projectmanagement.domain.enumeration.Status;
+import com.projectmanagement.repository.projection.ActivitySummary;
 import com.projectmanagement.service.ActivityService;
+import com.projectmanagement.service.ActivityStatusQueue;
+import com.projectmanagement.service.dto.ActivityBatchResult;
+import com.projectmanagement.service.dto.ActivityCriteria;
+import com.projectmanagement.service.dto.CursorPage;
 
 class ActivityResourceTest {
 
@@ -43,6 +56,9 @@ class ActivityResourceTest {
     @Mock
     private ActivityService activityService;
 
+    @Mock
+    private ActivityStatusQueue activityStatusQueue;
+
     @InjectMocks
     private ActivityResource activityResource;
 
@@ -74,6 +90,11 @@ class ActivityResourceTest {
 
     Activity activityWithoutId = createTestActivityWithoutId(null);
 
+    private ActivitySummary summaryOf(Activity activity) {
+        return new ActivitySummary(activity.getId(), activity.getDescription(), activity.getStatus(),
+                activity.getStartDate(), activity.getEndDate(), null);
+    }
+
     private String toJson(Object object) throws Exception {
         return objectMapper.writeValueAsString(object);
     }
@@ -100,8 +121,7 @@ class ActivityResourceTest {
 
     @Test
     void testUpdateActivity() throws Exception {
-        when(activityService.exists(1L)).thenReturn(true);
-        when(activityService.save(any(Activity.class))).thenReturn(activityWithId);
+        when(activityService.updateIfExists(any(Activity.class))).thenReturn(Optional.of(activityWithId));
 
         String response = mockMvc.perform(put("/api/activities/1")
                 .contentType(MediaType.APPLICATION_JSON)
@@ -122,8 +142,8 @@ class ActivityResourceTest {
 
     @Test
     void testGetAllActivities() throws Exception {
-        Page<Activity> page = new PageImpl<>(Collections.singletonList(activityWithId));
-        when(activityService.findAll(any(Pageable.class))).thenReturn(page);
+        Slice<ActivitySummary> slice = new SliceImpl<>(Collections.singletonList(summaryOf(activityWithId)));
+        when(activityService.findSlice(any(Pageable.class))).thenReturn(slice);
 
         String response = mockMvc.perform(get("/api/activities")
                 .param("page", "0")
@@ -134,23 +154,26 @@ class ActivityResourceTest {
                 .getResponse()
                 .getContentAsString();
 
-        List<Activity> responseActivities = objectMapper.readValue(response, new TypeReference<List<Activity>>() {
+        List<ActivitySummary> responseActivities = objectMapper.readValue(response, new TypeReference<List<ActivitySummary>>() {
         });
 
         assertEquals(1, responseActivities.size());
-        assertEquals(activityWithId.getId(), responseActivities.get(0).getId());
-        assertEquals(activityWithId.getDescription(), responseActivities.get(0).getDescription());
-        assertEquals(activityWithId.getStatus(), responseActivities.get(0).getStatus());
-        assertEquals(activityWithId.getStartDate(), responseActivities.get(0).getStartDate());
-        assertEquals(activityWithId.getEndDate(), responseActivities.get(0).getEndDate());
+        assertEquals(activityWithId.getId(), responseActivities.get(0).id());
+        assertEquals(activityWithId.getDescription(), responseActivities.get(0).description());
+        assertEquals(activityWithId.getStatus(), responseActivities.get(0).status());
+        assertEquals(activityWithId.getStartDate(), responseActivities.get(0).startDate());
+        assertEquals(activityWithId.getEndDate(), responseActivities.get(0).endDate());
     }
 
     @Test
     void testGetActivityById() throws Exception {
+        activityWithId.setVersion(3L);
+        when(activityService.findVersion(1L)).thenReturn(Optional.of(3L));
         when(activityService.findOne(1L)).thenReturn(Optional.of(activityWithId));
 
         String response = mockMvc.perform(get("/api/activities/1"))
                 .andExpect(status().isOk())
+                .andExpect(header().string("ETag", "\"3\""))
                 .andReturn()
                 .getResponse()
                 .getContentAsString();
@@ -164,10 +187,21 @@ class ActivityResourceTest {
         assertEquals(activityWithId.getEndDate(), responseActivity.getEndDate());
     }
 
+    @Test
+    void testGetActivityNotModified() throws Exception {
+        when(activityService.findVersion(1L)).thenReturn(Optional.of(3L));
+
+        mockMvc.perform(get("/api/activities/1")
+                .header("If-None-Match", "\"3\""))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string("ETag", "\"3\""));
+
+        verify(activityService, never()).findOne(1L);
+    }
+
     @Test
     void testDeleteActivity() throws Exception {
-        when(activityService.exists(1L)).thenReturn(true);
-        doNothing().when(activityService).delete(1L);
+        when(activityService.deleteIfExists(1L)).thenReturn(true);
 
         mockMvc.perform(delete("/api/activities/1"))
                 .andExpect(status().isNoContent());
@@ -175,7 +209,7 @@ class ActivityResourceTest {
 
     @Test
     void testGetActivityNotFound() throws Exception {
-        when(activityService.findOne(1L)).thenReturn(Optional.empty());
+        when(activityService.findVersion(1L)).thenReturn(Optional.empty());
 
         mockMvc.perform(get("/api/activities/1"))
                 .andExpect(status().isNotFound());
@@ -183,7 +217,7 @@ class ActivityResourceTest {
 
     @Test
     void testUpdateActivityNotFound() throws Exception {
-        when(activityService.exists(1L)).thenReturn(false);
+        when(activityService.updateIfExists(any(Activity.class))).thenReturn(Optional.empty());
 
         mockMvc.perform(put("/api/activities/1")
                 .contentType(MediaType.APPLICATION_JSON)
@@ -193,9 +227,148 @@ class ActivityResourceTest {
 
     @Test
     void testDeleteActivityNotFound() throws Exception {
-        when(activityService.exists(1L)).thenReturn(false);
+        when(activityService.deleteIfExists(1L)).thenReturn(false);
 
         mockMvc.perform(delete("/api/activities/1"))
                 .andExpect(status().isNotFound());
     }
-}
\ No newline at end of file
+
+    @Test
+    void testGetAllActivitiesByCursor() throws Exception {
+        String nextCursor = CursorPage.encodeCursor(1L);
+        when(activityService.findAllAfter(isNull(), anyInt()))
+                .thenReturn(new CursorPage<>(List.of(summaryOf(activityWithId)), nextCursor));
+
+        String response = mockMvc.perform(get("/api/activities/cursor")
+                .param("size", "1"))
+                .andExpect(status().isOk())
+                .andReturn()
+                .getResponse()
+                .getContentAsString();
+
+        JsonNode body = objectMapper.readTree(response);
+
+        assertEquals(1, body.get("content").size());
+        assertEquals(activityWithId.getId(), body.get("content").get(0).get("id").asLong());
+        assertEquals(nextCursor, body.get("nextCursor").asText());
+    }
+
+    @Test
+    void testGetAllActivitiesByInvalidCursor() throws Exception {
+        when(activityService.findAllAfter(any(), anyInt())).thenThrow(new IllegalArgumentException("Invalid cursor"));
+
+        mockMvc.perform(get("/api/activities/cursor")
+                .param("cursor", "not-a-cursor"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void testSearchActivities() throws Exception {
+        ActivityCriteria criteria = new ActivityCriteria(7L, Status.IN_PROGRESS,
+                Instant.parse("2024-01-01T00:00:00Z"), Instant.parse("2024-02-01T00:00:00Z"));
+        when(activityService.search(eq(criteria), isNull(), eq(20)))
+                .thenReturn(new CursorPage<>(List.of(summaryOf(activityWithId)), null));
+
+        String response = mockMvc.perform(get("/api/activities/search")
+                .param("projectId", "7")
+                .param("status", "IN_PROGRESS")
+                .param("from", "2024-01-01T00:00:00Z")
+                .param("to", "2024-02-01T00:00:00Z"))
+                .andExpect(status().isOk())
+                .andReturn()
+                .getResponse()
+                .getContentAsString();
+
+        JsonNode body = objectMapper.readTree(response);
+
+        assertEquals(activityWithId.getId(), body.get("content").get(0).get("id").asLong());
+        assertEquals(true, body.get("nextCursor").isNull());
+    }
+
+    @Test
+    void testSearchActivitiesWithReversedWindow() throws Exception {
+        mockMvc.perform(get("/api/activities/search")
+                .param("from", "2024-02-01T00:00:00Z")
+                .param("to", "2024-01-01T00:00:00Z"))
+                .andExpect(status().isBadRequest());
+
+        verifyNoInteractions(activityService);
+    }
+
+    @Test
+    void testGetAllActivitiesWithTotal() throws Exception {
+        when(activityService.findSlice(any(Pageable.class))).thenReturn(new SliceImpl<>(List.of(summaryOf(activityWithId))));
+        when(activityService.estimateCount()).thenReturn(42L);
+
+        mockMvc.perform(get("/api/activities")
+                .param("withTotal", "true"))
+                .andExpect(status().isOk())
+                .andExpect(header().string("X-Total-Count", "42"));
+    }
+
+    @Test
+    void testSaveActivities() throws Exception {
+        when(activityService.saveAll(eq(1L), any()))
+                .thenReturn(Optional.of(List.of(ActivityBatchResult.created(0, 5L))));
+
+        String response = mockMvc.perform(post("/api/activities/batch")
+                .param("projectId", "1")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(toJson(List.of(activityWithoutId))))
+                .andExpect(status().isOk())
+                .andReturn()
+                .getResponse()
+                .getContentAsString();
+
+        List<ActivityBatchResult> results = objectMapper.readValue(response, new TypeReference<List<ActivityBatchResult>>() {
+        });
+
+        assertEquals(1, results.size());
+        assertEquals(5L, results.get(0).id());
+        assertEquals(ActivityBatchResult.Outcome.CREATED, results.get(0).outcome());
+    }
+
+    @Test
+    void testSaveActivitiesOfUnknownProject() throws Exception {
+        when(activityService.saveAll(eq(1L), any())).thenReturn(Optional.empty());
+
+        mockMvc.perform(post("/api/activities/batch")
+                .param("projectId", "1")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(toJson(List.of(activityWithoutId))))
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    void testUpdateActivityStatus() throws Exception {
+        when(activityStatusQueue.offer(1L, Status.COMPLETED)).thenReturn(true);
+
+        mockMvc.perform(patch("/api/activities/1/status")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"status\":\"COMPLETED\"}"))
+                .andExpect(status().isAccepted());
+
+        verify(activityStatusQueue).offer(1L, Status.COMPLETED);
+    }
+
+    @Test
+    void testUpdateActivityStatusWhenQueueIsFull() throws Exception {
+        when(activityStatusQueue.offer(1L, Status.COMPLETED)).thenReturn(false);
+
+        mockMvc.perform(patch("/api/activities/1/status")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"status\":\"COMPLETED\"}"))
+                .andExpect(status().isTooManyRequests())
+                .andExpect(header().string("Retry-After", "1"));
+    }
+
+    @Test
+    void testUpdateActivityStatusWithoutStatus() throws Exception {
+        mockMvc.perform(patch("/api/activities/1/status")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{}"))
+                .andExpect(status().isBadRequest());
+
+        verifyNoInteractions(activityStatusQueue);
+    }
+}
@@ -2,16 +2,22 @@ package com.projectmanagement.web.rest;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.mockito.ArgumentMatchers.any;
-import static org.mockito.Mockito.doNothing;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 import java.util.Collections;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 import org.junit.jupiter.api.BeforeEach;
@@ -19,9 +25,9 @@ import org.junit.jupiter.api.Test;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
-import org.springframework.data.domain.Page;
-import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
 import org.springframework.data.web.PageableHandlerMethodArgumentResolver;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
@@ -30,7 +36,12 @@ import org.springframework.test.web.servlet.setup.MockMvcBuilders;
 import com.fasterxml.jackson.core.type.TypeReference;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.projectmanagement.domain.Client;
+import com.projectmanagement.domain.ClientRollup;
+import com.projectmanagement.domain.enumeration.Status;
+import com.projectmanagement.repository.projection.ClientSummary;
+import com.projectmanagement.service.ClientRollupService;
 import com.projectmanagement.service.ClientService;
+import com.projectmanagement.service.dto.ClientRollupSummary;
 
 class ClientResourceTest {
 
@@ -39,6 +50,9 @@ class ClientResourceTest {
     @Mock
     private ClientService clientService;
 
+    @Mock
+    private ClientRollupService clientRollupService;
+
     @InjectMocks
     private ClientResource clientResource;
 
@@ -93,8 +107,7 @@ class ClientResourceTest {
 
     @Test
     void testUpdateClient() throws Exception {
-        when(clientService.exists(1L)).thenReturn(true);
-        when(clientService.save(any(Client.class))).thenReturn(clientWithId);
+        when(clientService.updateIfExists(any(Client.class))).thenReturn(Optional.of(clientWithId));
 
         String response = mockMvc.perform(put("/api/clients/1")
                 .contentType(MediaType.APPLICATION_JSON)
@@ -114,8 +127,9 @@ class ClientResourceTest {
 
     @Test
     void testGetAllClients() throws Exception {
-        Page<Client> page = new PageImpl<>(Collections.singletonList(clientWithId));
-        when(clientService.findAll(any(Pageable.class))).thenReturn(page);
+        Slice<ClientSummary> slice = new SliceImpl<>(Collections.singletonList(
+                new ClientSummary(clientWithId.getId(), clientWithId.getName(), clientWithId.getEmail(), clientWithId.getPhone())));
+        when(clientService.findSlice(any(Pageable.class))).thenReturn(slice);
 
         String response = mockMvc.perform(get("/api/clients")
                 .param("page", "0")
@@ -138,10 +152,13 @@ class ClientResourceTest {
 
     @Test
     void testGetClientById() throws Exception {
+        clientWithId.setVersion(3L);
+        when(clientService.findVersion(1L)).thenReturn(Optional.of(3L));
         when(clientService.findOne(1L)).thenReturn(Optional.of(clientWithId));
 
         String response = mockMvc.perform(get("/api/clients/1"))
                 .andExpect(status().isOk())
+                .andExpect(header().string("ETag", "\"3\""))
                 .andReturn()
                 .getResponse()
                 .getContentAsString();
@@ -154,12 +171,83 @@ class ClientResourceTest {
         assertEquals(clientWithId.getPhone(), responseClient.getPhone());
     }
 
+    @Test
+    void testGetClientNotModified() throws Exception {
+        when(clientService.findVersion(1L)).thenReturn(Optional.of(3L));
+
+        mockMvc.perform(get("/api/clients/1")
+                .header("If-None-Match", "\"3\""))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string("ETag", "\"3\""));
+
+        verify(clientService, never()).findOne(1L);
+    }
+
     @Test
     void testDeleteClient() throws Exception {
-        when(clientService.exists(1L)).thenReturn(true);
-        doNothing().when(clientService).delete(1L);
+        when(clientService.deleteIfExists(1L)).thenReturn(true);
 
         mockMvc.perform(delete("/api/clients/1"))
                 .andExpect(status().isNoContent());
     }
-}
\ No newline at end of file
+
+    @Test
+    void testGetClientSummary() throws Exception {
+        ClientRollup rollup = new ClientRollup(1L);
+        rollup.setProjectCount(Status.OPEN, 2);
+        rollup.setActivityCount(Status.COMPLETED, 5);
+        when(clientRollupService.findSummary(1L)).thenReturn(Optional.of(ClientRollupSummary.of(rollup)));
+
+        mockMvc.perform(get("/api/clients/1/summary"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.projectsByStatus.OPEN").value(2))
+                .andExpect(jsonPath("$.totalProjects").value(2))
+                .andExpect(jsonPath("$.activitiesByStatus.COMPLETED").value(5));
+    }
+
+    @Test
+    void testGetSummaryOfUnknownClient() throws Exception {
+        when(clientRollupService.findSummary(1L)).thenReturn(Optional.empty());
+
+        mockMvc.perform(get("/api/clients/1/summary"))
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    void testSuggestClients() throws Exception {
+        when(clientService.suggest("jo", 50)).thenReturn(List.of(new ClientSummary(1L, "John Doe", "jd@example.com", null)));
+
+        mockMvc.perform(get("/api/clients/suggest").param("prefix", "jo").param("size", "500"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].name").value("John Doe"));
+    }
+
+    @Test
+    void testSuggestClientsWithBlankPrefix() throws Exception {
+        mockMvc.perform(get("/api/clients/suggest").param("prefix", ""))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void testGetAllClientsWithFields() throws Exception {
+        Map<String, Object> row = new LinkedHashMap<>();
+        row.put("id", 1);
+        row.put("name", "John Doe");
+        when(clientService.findSlice(eq(List.of("id", "name")), any(Pageable.class)))
+                .thenReturn(new SliceImpl<>(List.of(row)));
+
+        mockMvc.perform(get("/api/clients").param("fields", "id,name"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].name").value("John Doe"))
+                .andExpect(jsonPath("$[0].email").doesNotExist());
+    }
+
+    @Test
+    void testGetAllClientsWithUnknownField() throws Exception {
+        when(clientService.findSlice(eq(List.of("password")), any(Pageable.class)))
+                .thenThrow(new IllegalArgumentException("Unknown field : password"));
+
+        mockMvc.perform(get("/api/clients").param("fields", "password"))
+                .andExpect(status().isBadRequest());
+    }
+}
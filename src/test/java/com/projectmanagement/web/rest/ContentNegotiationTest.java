@@ -0,0 +1,98 @@
+package com.projectmanagement.web.rest;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.time.Instant;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.databind.CBORMapper;
+import com.fasterxml.jackson.dataformat.smile.databind.SmileMapper;
+import com.projectmanagement.domain.Client;
+import com.projectmanagement.domain.Project;
+import com.projectmanagement.domain.enumeration.Status;
+import com.projectmanagement.repository.ClientRepository;
+import com.projectmanagement.repository.ProjectRepository;
+
+/**
+ * The binary formats negotiated with the {@code Accept} header, JSON being the default.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+class ContentNegotiationTest {
+
+    private static final MediaType SMILE = MediaType.parseMediaType("application/x-jackson-smile");
+
+    private static final MediaType CBOR = MediaType.parseMediaType("application/cbor");
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ClientRepository clientRepository;
+
+    @Autowired
+    private ProjectRepository projectRepository;
+
+    private Project project;
+
+    @BeforeEach
+    void setUp() {
+        Client client = new Client();
+        client.setName("Negotiation Client");
+        client.setEmail("negotiation@example.com");
+        clientRepository.save(client);
+        project = new Project();
+        project.setName("Negotiated Project");
+        project.setStatus(Status.OPEN);
+        project.setStartDate(Instant.parse("2024-01-01T00:00:00Z"));
+        project.setClient(client);
+        projectRepository.save(project);
+    }
+
+    @Test
+    void shouldServeJsonByDefault() throws Exception {
+        mockMvc.perform(get("/api/projects/" + project.getId()))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_JSON));
+    }
+
+    @Test
+    void shouldServeSmile() throws Exception {
+        byte[] body = mockMvc.perform(get("/api/projects/" + project.getId()).accept(SMILE))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(SMILE))
+                .andReturn().getResponse().getContentAsByteArray();
+
+        assertProject(new SmileMapper(), body);
+    }
+
+    @Test
+    void shouldServeCbor() throws Exception {
+        byte[] body = mockMvc.perform(get("/api/projects/" + project.getId()).accept(CBOR))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(CBOR))
+                .andReturn().getResponse().getContentAsByteArray();
+
+        assertProject(new CBORMapper(), body);
+    }
+
+    private void assertProject(ObjectMapper mapper, byte[] body) throws Exception {
+        JsonNode json = mapper.readTree(body);
+        assertThat(json.get("name").asText()).isEqualTo("Negotiated Project");
+        // Same settings as the JSON mapper, e.g. ISO-8601 dates rather than timestamps
+        assertThat(json.get("startDate").asText()).isEqualTo("2024-01-01T00:00:00Z");
+        assertThat(json.get("client").get("name").asText()).isEqualTo("Negotiation Client");
+    }
+}
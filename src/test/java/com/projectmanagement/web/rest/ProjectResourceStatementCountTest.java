@@ -0,0 +1,151 @@
+package com.projectmanagement.web.rest;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.time.Instant;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import com.projectmanagement.config.SqlStatementStats;
+import com.projectmanagement.domain.Activity;
+import com.projectmanagement.domain.Client;
+import com.projectmanagement.domain.Project;
+import com.projectmanagement.domain.enumeration.Status;
+import com.projectmanagement.repository.ActivityRepository;
+import com.projectmanagement.repository.ClientRepository;
+import com.projectmanagement.repository.ProjectRepository;
+import com.projectmanagement.web.filter.SqlStatementBudgetFilter;
+
+/**
+ * Statement budgets of the project endpoints, counted per request by {@link SqlStatementBudgetFilter}.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+class ProjectResourceStatementCountTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ClientRepository clientRepository;
+
+    @Autowired
+    private ProjectRepository projectRepository;
+
+    @Autowired
+    private ActivityRepository activityRepository;
+
+    private Project project;
+
+    private Activity activity;
+
+    @BeforeEach
+    void setUp() {
+        Client client = new Client();
+        client.setName("Budget Client");
+        client.setEmail("budget@example.com");
+        clientRepository.save(client);
+        for (int i = 0; i < 5; i++) {
+            Project saved = new Project();
+            saved.setName("Budget Project " + i);
+            saved.setStatus(Status.OPEN);
+            saved.setStartDate(Instant.now());
+            saved.setClient(client);
+            project = projectRepository.save(saved);
+            for (int j = 0; j < 3; j++) {
+                Activity child = new Activity();
+                child.setDescription("Budget Activity " + j);
+                child.setStatus(Status.OPEN);
+                child.setStartDate(Instant.now());
+                child.setProject(project);
+                activity = activityRepository.save(child);
+            }
+        }
+    }
+
+    @Test
+    void listingProjectsRunsOneStatement() throws Exception {
+        MvcResult result = mockMvc.perform(get("/api/projects")).andExpect(status().isOk()).andReturn();
+
+        assertThat(statements(result).getCount()).isEqualTo(1);
+    }
+
+    @Test
+    void listingProjectsWithActivitiesAndClientRunsTwoStatements() throws Exception {
+        MvcResult result = mockMvc.perform(get("/api/projects").param("expand", "activities,client")).andExpect(status().isOk()).andReturn();
+
+        assertThat(statements(result).getCount()).isEqualTo(2);
+    }
+
+    @Test
+    void gettingAProjectDoesNotLoadActivitiesOneByOne() throws Exception {
+        MvcResult result = mockMvc.perform(get("/api/projects/{id}", project.getId())).andExpect(status().isOk()).andReturn();
+
+        assertThat(statements(result).getCount()).isEqualTo(4);
+        assertThat(statements(result).getFingerprints()).allSatisfy((fingerprint, executions) -> assertThat(executions).isEqualTo(1));
+    }
+
+    @Test
+    void gettingAnUnchangedProjectRunsOneStatementUntilAnActivityChanges() throws Exception {
+        String etag = mockMvc.perform(get("/api/projects/{id}", project.getId())).andReturn().getResponse().getHeader("ETag");
+
+        MvcResult notModified = mockMvc.perform(get("/api/projects/{id}", project.getId()).header("If-None-Match", etag))
+                .andExpect(status().isNotModified())
+                .andReturn();
+        assertThat(statements(notModified).getCount()).isEqualTo(1);
+
+        mockMvc.perform(patch("/api/activities/{id}", activity.getId())
+                .contentType(MediaType.parseMediaType("application/merge-patch+json"))
+                .content("{\"status\":\"COMPLETED\"}"))
+                .andExpect(status().isOk());
+
+        MvcResult changed = mockMvc.perform(get("/api/projects/{id}", project.getId()).header("If-None-Match", etag))
+                .andExpect(status().isOk())
+                .andReturn();
+        String next = changed.getResponse().getHeader("ETag");
+        assertThat(next).isNotEqualTo(etag);
+        mockMvc.perform(patch("/api/projects/{id}", project.getId())
+                .contentType(MediaType.parseMediaType("application/merge-patch+json"))
+                .header("If-Match", next)
+                .content("{\"name\":\"Renamed\"}"))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    void patchingAProjectNameUpdatesOnlyThatColumn() throws Exception {
+        MvcResult result = mockMvc.perform(patch("/api/projects/{id}", project.getId())
+                .contentType(MediaType.parseMediaType("application/merge-patch+json"))
+                .content("{\"name\":\"Renamed Project\"}"))
+                .andExpect(status().isOk())
+                .andReturn();
+
+        assertThat(statements(result).getFingerprints())
+                .containsKey("update project set name=?,version=? where id=? and version=?")
+                .allSatisfy((fingerprint, executions) -> assertThat(fingerprint).doesNotStartWith("update activity"));
+    }
+
+    @Test
+    void deletingAProjectDeletesItsActivitiesInOneStatement() throws Exception {
+        MvcResult result = mockMvc.perform(delete("/api/projects/{id}", project.getId())).andExpect(status().isNoContent()).andReturn();
+
+        assertThat(statements(result).getFingerprints())
+                .containsEntry("delete from activity a1_0 where a1_0.project_id=?", 1)
+                .allSatisfy((fingerprint, executions) -> assertThat(executions).isEqualTo(1));
+        assertThat(activityRepository.countByProjectId(project.getId())).isZero();
+    }
+
+    private static SqlStatementStats statements(MvcResult result) {
+        return (SqlStatementStats) result.getRequest().getAttribute(SqlStatementBudgetFilter.STATS_ATTRIBUTE);
+    }
+}
@@ -1,5 +1,295 @@
 package com.projectmanagement.web.rest;
 
-public class ProjectResourceTest {
-    
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.data.web.PageableHandlerMethodArgumentResolver;
+import org.springframework.http.MediaType;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.projectmanagement.domain.Project;
+import com.projectmanagement.domain.enumeration.Status;
+import com.projectmanagement.repository.projection.ProjectSummary;
+import com.projectmanagement.service.ActivityService;
+import com.projectmanagement.service.ProjectDeletionService;
+import com.projectmanagement.service.ProjectService;
+import com.projectmanagement.service.dto.ProjectDeletionStatus;
+import com.projectmanagement.service.dto.ProjectStats;
+
+class ProjectResourceTest {
+
+    private MockMvc mockMvc;
+
+    @Mock
+    private ProjectService projectService;
+
+    @Mock
+    private ActivityService activityService;
+
+    @Mock
+    private ProjectDeletionService projectDeletionService;
+
+    @InjectMocks
+    private ProjectResource projectResource;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        mockMvc = MockMvcBuilders.standaloneSetup(projectResource)
+                .setCustomArgumentResolvers(new PageableHandlerMethodArgumentResolver())
+                .build();
+    }
+
+    private Project createTestProject(Long id) {
+        Project project = new Project();
+        project.setId(id);
+        project.setName("Test Project");
+        project.setStatus(Status.OPEN);
+        project.setStartDate(Instant.now());
+        return project;
+    }
+
+    @Test
+    void testGetAllProjects() throws Exception {
+        ProjectSummary summary = new ProjectSummary(1L, "Test Project", null, Status.OPEN, Instant.now(), null, 2L);
+        when(projectService.findSlice(any(Pageable.class)))
+                .thenReturn(new SliceImpl<>(List.of(summary), PageRequest.of(0, 20), true));
+
+        String response = mockMvc.perform(get("/api/projects"))
+                .andExpect(status().isOk())
+                .andReturn()
+                .getResponse()
+                .getContentAsString();
+
+        JsonNode body = objectMapper.readTree(response);
+
+        assertEquals(1, body.get("content").size());
+        assertEquals(2L, body.get("content").get(0).get("clientId").asLong());
+        assertEquals(false, body.get("last").asBoolean());
+    }
+
+    @Test
+    void testGetAllProjectsWithExpand() throws Exception {
+        when(projectService.findSlice(any(Pageable.class), eq(true), eq(true)))
+                .thenReturn(new SliceImpl<>(List.of(createTestProject(1L)), PageRequest.of(0, 20), false));
+
+        String response = mockMvc.perform(get("/api/projects")
+                .param("expand", "activities,client"))
+                .andExpect(status().isOk())
+                .andReturn()
+                .getResponse()
+                .getContentAsString();
+
+        JsonNode body = objectMapper.readTree(response);
+
+        assertEquals(1, body.get("content").size());
+        verify(projectService).findSlice(any(Pageable.class), eq(true), eq(true));
+    }
+
+    @Test
+    void testGetAllProjectsWithUnknownExpand() throws Exception {
+        mockMvc.perform(get("/api/projects")
+                .param("expand", "owner"))
+                .andExpect(status().isBadRequest());
+
+        verifyNoInteractions(projectService);
+    }
+
+    @Test
+    void testExportActivities() throws Exception {
+        when(projectService.exists(1L)).thenReturn(true);
+        doAnswer(invocation -> {
+            OutputStream out = invocation.getArgument(1);
+            out.write("{\"id\":1}\n{\"id\":2}\n".getBytes(StandardCharsets.UTF_8));
+            return null;
+        }).when(activityService).exportByProject(eq(1L), any(OutputStream.class));
+
+        MvcResult result = mockMvc.perform(get("/api/projects/1/activities/export"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType("application/x-ndjson"))
+                .andExpect(content().string("{\"id\":1}\n{\"id\":2}\n"));
+    }
+
+    @Test
+    void testExportActivitiesOfUnknownProject() throws Exception {
+        when(projectService.exists(1L)).thenReturn(false);
+
+        mockMvc.perform(get("/api/projects/1/activities/export"))
+                .andExpect(status().isNotFound());
+
+        verifyNoInteractions(activityService);
+    }
+
+    @Test
+    void testGetProjectStats() throws Exception {
+        Map<Status, Long> counts = new EnumMap<>(Status.class);
+        counts.put(Status.COMPLETED, 3L);
+        counts.put(Status.OPEN, 1L);
+        ProjectStats stats = new ProjectStats(1L, counts, 4L, null, null, null, null, 0.75);
+        when(activityService.findProjectStats(1L, true)).thenReturn(Optional.of(stats));
+
+        String response = mockMvc.perform(get("/api/projects/1/stats").param("cached", "true"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+
+        JsonNode json = objectMapper.readTree(response);
+        assertEquals(4, json.get("total").asLong());
+        assertEquals(3, json.get("countsByStatus").get("COMPLETED").asLong());
+        assertEquals(0.75, json.get("completionRatio").asDouble());
+    }
+
+    @Test
+    void testGetStatsOfUnknownProject() throws Exception {
+        when(activityService.findProjectStats(1L, false)).thenReturn(Optional.empty());
+
+        mockMvc.perform(get("/api/projects/1/stats"))
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    void testGetProjectStatsByClient() throws Exception {
+        ProjectStats stats = new ProjectStats(1L, Map.of(), 0L, null, null, null, null, 0);
+        when(activityService.findProjectStatsByClient(7L, false)).thenReturn(List.of(stats));
+
+        mockMvc.perform(get("/api/projects/stats").param("clientId", "7"))
+                .andExpect(status().isOk());
+
+        verify(activityService).findProjectStatsByClient(7L, false);
+    }
+
+    @Test
+    void testPatchProject() throws Exception {
+        Project project = createTestProject(1L);
+        project.setName("Renamed Project");
+        project.setVersion(4L);
+        when(projectService.patch(eq(1L), any(), eq(3L))).thenReturn(Optional.of(project));
+
+        mockMvc.perform(patch("/api/projects/1")
+                .contentType(MediaType.parseMediaType("application/merge-patch+json"))
+                .header("If-Match", "\"3\"")
+                .content("{\"name\":\"Renamed Project\"}"))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", "\"4\""));
+
+        verify(projectService).patch(1L, objectMapper.readTree("{\"name\":\"Renamed Project\"}"), 3L);
+    }
+
+    @Test
+    void testPatchProjectWithStaleEntityTag() throws Exception {
+        when(projectService.patch(eq(1L), any(), eq(3L))).thenThrow(new ObjectOptimisticLockingFailureException(Project.class, 1L));
+
+        mockMvc.perform(patch("/api/projects/1")
+                .contentType(MediaType.parseMediaType("application/merge-patch+json"))
+                .header("If-Match", "\"3\"")
+                .content("{\"name\":\"Renamed Project\"}"))
+                .andExpect(status().isPreconditionFailed());
+    }
+
+    @Test
+    void testPatchProjectWithInvalidPatch() throws Exception {
+        when(projectService.patch(eq(1L), any(), any())).thenThrow(new IllegalArgumentException("Field cannot be patched : client"));
+
+        mockMvc.perform(patch("/api/projects/1")
+                .contentType(MediaType.parseMediaType("application/merge-patch+json"))
+                .content("{\"client\":{\"id\":2}}"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void testPatchProjectWithWeakEntityTag() throws Exception {
+        mockMvc.perform(patch("/api/projects/1")
+                .contentType(MediaType.parseMediaType("application/merge-patch+json"))
+                .header("If-Match", "W/\"3\"")
+                .content("{\"name\":\"Renamed Project\"}"))
+                .andExpect(status().isBadRequest());
+
+        verifyNoInteractions(projectService);
+    }
+
+    @Test
+    void testPatchUnknownProject() throws Exception {
+        when(projectService.patch(eq(1L), any(), any())).thenReturn(Optional.empty());
+
+        mockMvc.perform(patch("/api/projects/1")
+                .contentType(MediaType.parseMediaType("application/merge-patch+json"))
+                .content("{\"name\":\"Renamed Project\"}"))
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    void testDeleteProjectAsync() throws Exception {
+        ProjectDeletionStatus deletion = new ProjectDeletionStatus("job-1", 1L, ProjectDeletionStatus.State.RUNNING, 20000L, 0L, Instant.now(), null);
+        when(projectDeletionService.start(1L)).thenReturn(Optional.of(deletion));
+
+        String response = mockMvc.perform(delete("/api/projects/1").param("async", "true"))
+                .andExpect(status().isAccepted())
+                .andExpect(header().string("Location", "/api/projects/deletions/job-1"))
+                .andReturn().getResponse().getContentAsString();
+
+        assertEquals("RUNNING", objectMapper.readTree(response).get("state").asText());
+        verify(projectService, never()).deleteIfExists(any());
+    }
+
+    @Test
+    void testDeleteUnknownProjectAsync() throws Exception {
+        when(projectDeletionService.start(1L)).thenReturn(Optional.empty());
+
+        mockMvc.perform(delete("/api/projects/1").param("async", "true"))
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    void testGetProjectDeletion() throws Exception {
+        ProjectDeletionStatus deletion = new ProjectDeletionStatus("job-1", 1L, ProjectDeletionStatus.State.RUNNING, 20000L, 5000L, null, null);
+        when(projectDeletionService.findStatus("job-1")).thenReturn(Optional.of(deletion));
+        when(projectDeletionService.findStatus("job-2")).thenReturn(Optional.empty());
+
+        String response = mockMvc.perform(get("/api/projects/deletions/job-1"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+
+        assertEquals(5000L, objectMapper.readTree(response).get("deletedActivities").asLong());
+        mockMvc.perform(get("/api/projects/deletions/job-2")).andExpect(status().isNotFound());
+    }
 }
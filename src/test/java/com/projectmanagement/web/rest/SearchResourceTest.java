@@ -0,0 +1,71 @@
+package com.projectmanagement.web.rest;
+
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import com.projectmanagement.repository.projection.SearchHit;
+import com.projectmanagement.service.SearchService;
+import com.projectmanagement.service.dto.CursorPage;
+import com.projectmanagement.service.dto.SearchCursor;
+
+class SearchResourceTest {
+
+    private MockMvc mockMvc;
+
+    @Mock
+    private SearchService searchService;
+
+    @InjectMocks
+    private SearchResource searchResource;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        mockMvc = MockMvcBuilders.standaloneSetup(searchResource).build();
+    }
+
+    @Test
+    void testSearch() throws Exception {
+        SearchHit hit = new SearchHit(SearchHit.Type.PROJECT, 1L, 1L, "Website Redesign", 0.6f);
+        String next = SearchCursor.of(hit).encode();
+        when(searchService.search("website", null, 1)).thenReturn(new CursorPage<>(List.of(hit), next));
+
+        mockMvc.perform(get("/api/search").param("q", "website").param("size", "1"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content[0].type").value("PROJECT"))
+                .andExpect(jsonPath("$.content[0].text").value("Website Redesign"))
+                .andExpect(jsonPath("$.nextCursor").value(next));
+
+        verify(searchService).search("website", null, 1);
+    }
+
+    @Test
+    void testSearchWithBlankQuery() throws Exception {
+        mockMvc.perform(get("/api/search").param("q", " "))
+                .andExpect(status().isBadRequest());
+
+        verifyNoInteractions(searchService);
+    }
+
+    @Test
+    void testSearchWithMalformedCursor() throws Exception {
+        when(searchService.search("website", "bad", 20)).thenThrow(new IllegalArgumentException("Invalid cursor : bad"));
+
+        mockMvc.perform(get("/api/search").param("q", "website").param("cursor", "bad"))
+                .andExpect(status().isBadRequest());
+    }
+}